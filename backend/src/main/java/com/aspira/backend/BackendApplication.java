@@ -19,6 +19,10 @@ public class BackendApplication {
 		  String dbUsername = dotenv.get("DB_USERNAME");
 		  String dbPassword = dotenv.get("DB_PASSWORD");
 		  String jwtSecret = dotenv.get("JWT_SECRET");
+		  // Optional read replica; its credentials default to the primary's
+		  String dbReplicaUrl = dotenv.get("DB_REPLICA_URL");
+		  String dbReplicaUsername = dotenv.get("DB_REPLICA_USERNAME");
+		  String dbReplicaPassword = dotenv.get("DB_REPLICA_PASSWORD");
 
 		  if (dbUrl == null) System.err.println("Warning: DB_URL is not set in .env");
 		  if (dbUsername == null) System.err.println("Warning: DB_USERNAME is not set in .env");
@@ -29,6 +33,9 @@ public class BackendApplication {
 		  if (dbUsername != null) System.setProperty("DB_USERNAME", dbUsername);
 		  if (dbPassword != null) System.setProperty("DB_PASSWORD", dbPassword);
 		  if (jwtSecret != null) System.setProperty("JWT_SECRET", jwtSecret);
+		  if (dbReplicaUrl != null) System.setProperty("DB_REPLICA_URL", dbReplicaUrl);
+		  if (dbReplicaUsername != null) System.setProperty("DB_REPLICA_USERNAME", dbReplicaUsername);
+		  if (dbReplicaPassword != null) System.setProperty("DB_REPLICA_PASSWORD", dbReplicaPassword);
 
         SpringApplication.run(BackendApplication.class, args);
 	}
@@ -0,0 +1,95 @@
+package com.aspira.backend.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Collects Hikari pool metrics without a metrics library: live connection counts come
+// from Hikari's PoolStats, acquire times and timeouts from the tracker callbacks.
+// Snapshots are served by DatabaseController and logged periodically; the max acquire
+// time covers the period since the previous log line.
+@Component
+@Slf4j
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    public record PoolSnapshot(String pool, int active, int idle, int pending, int total, int max,
+            long acquired, double meanAcquireMillis, double maxAcquireMillis, long timeouts) {
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolStats);
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    public List<PoolSnapshot> snapshot() {
+        List<PoolSnapshot> snapshots = new ArrayList<>(trackers.size());
+        trackers.forEach((pool, tracker) -> snapshots.add(tracker.snapshot(pool, false)));
+        return snapshots;
+    }
+
+    @Scheduled(fixedDelayString = "${db.pool.metrics-log-ms:60000}")
+    public void logMetrics() {
+        trackers.forEach((pool, tracker) -> {
+            PoolSnapshot s = tracker.snapshot(pool, true);
+            if (s.pending() > 0) {
+                log.warn("Connection pool {}: active={} idle={} pending={} max={} acquireMaxMs={} timeouts={}",
+                        pool, s.active(), s.idle(), s.pending(), s.max(), s.maxAcquireMillis(), s.timeouts());
+            } else {
+                log.info("Connection pool {}: active={} idle={} pending={} max={} acquireMeanMs={} acquireMaxMs={}",
+                        pool, s.active(), s.idle(), s.pending(), s.max(), s.meanAcquireMillis(), s.maxAcquireMillis());
+            }
+        });
+    }
+
+    private static final class Tracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final AtomicLong maxAcquireNanos = new AtomicLong();
+        private final LongAdder timeouts = new LongAdder();
+
+        Tracker(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquired.increment();
+            acquireNanos.add(elapsedAcquiredNanos);
+            maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        PoolSnapshot snapshot(String pool, boolean resetMax) {
+            long count = acquired.sum();
+            long max = resetMax ? maxAcquireNanos.getAndSet(0) : maxAcquireNanos.get();
+            double mean = count == 0 ? 0 : toMillis(acquireNanos.sum() / (double) count);
+            return new PoolSnapshot(pool, poolStats.getActiveConnections(), poolStats.getIdleConnections(),
+                    poolStats.getPendingThreads(), poolStats.getTotalConnections(), poolStats.getMaxConnections(),
+                    count, mean, toMillis(max), timeouts.sum());
+        }
+
+        private static double toMillis(double nanos) {
+            return Math.round(nanos / TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+        }
+    }
+}
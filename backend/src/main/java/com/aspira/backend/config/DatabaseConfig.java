@@ -1,32 +1,130 @@
 package com.aspira.backend.config;
 
+import com.aspira.backend.service.NotificationService;
+import com.aspira.backend.service.TrendingHashtagService;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
-//import org.springframework.beans.factory.annotation.Autowired;
+import java.util.Map;
+import java.util.Set;
 
+// Pooled DataSource for the primary database, plus an optional read replica.
+// Replicas lag, so only the read-only transactions listed in STALE_READS_ALLOWED go to the
+// replica; every other transaction, including the read-only defaults of Spring Data
+// repository methods, uses the primary. The lazy proxy only fetches a physical connection
+// at the first statement, after the transaction is registered, so the routing decision
+// sees its name and read-only flag.
 @Configuration
+@Slf4j
 public class DatabaseConfig {
-   // @Autowired
-   // public DataSource dataSource;  
+
+    // Read-only transactions (by "Class.method" name) that may read data a few seconds old:
+    // - NotificationService.getNotificationsPage: history pages; new notifications arrive over
+    //   the SSE stream, whose replay reads the primary
+    // - TrendingHashtagService.backfill: seven-day aggregate rebuilt at startup
+    static final Set<String> STALE_READS_ALLOWED = Set.of(
+            NotificationService.class.getName() + ".getNotificationsPage",
+            TrendingHashtagService.class.getName() + ".backfill");
+
+    @Value("${db.driver-class-name:org.postgresql.Driver}")
+    private String driverClassName;
+
+    @Value("${db.pool.maximum-size:20}")
+    private int maximumPoolSize;
+
+    @Value("${db.pool.minimum-idle:5}")
+    private int minimumIdle;
+
+    @Value("${db.pool.connection-timeout-ms:30000}")
+    private long connectionTimeoutMillis;
+
+    @Value("${db.pool.idle-timeout-ms:600000}")
+    private long idleTimeoutMillis;
+
+    @Value("${db.pool.max-lifetime-ms:1800000}")
+    private long maxLifetimeMillis;
+
+    @Value("${db.pool.leak-detection-threshold-ms:0}")
+    private long leakDetectionThresholdMillis;
+
+    private HikariDataSource primaryPool;
+    private HikariDataSource replicaPool;
 
     @Bean
+    public DataSource dataSource(ConnectionPoolMetrics poolMetrics) {
+        String username = System.getProperty("DB_USERNAME");
+        String password = System.getProperty("DB_PASSWORD");
+        primaryPool = createPool("primary", System.getProperty("DB_URL"), username, password, poolMetrics);
 
-     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("org.postgresql.Driver");
-        dataSource.setUrl(System.getProperty("DB_URL"));
-        dataSource.setUsername(System.getProperty("DB_USERNAME"));
-        dataSource.setPassword(System.getProperty("DB_PASSWORD"));
-        return dataSource;
+        String replicaUrl = System.getProperty("DB_REPLICA_URL");
+        if (replicaUrl == null || replicaUrl.isBlank()) {
+            return primaryPool;
+        }
+        replicaPool = createPool("replica", replicaUrl,
+                System.getProperty("DB_REPLICA_USERNAME", username),
+                System.getProperty("DB_REPLICA_PASSWORD", password), poolMetrics);
+        replicaPool.setReadOnly(true);
+        log.info("Routing {} read-only transactions to the replica database", STALE_READS_ALLOWED.size());
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Target.PRIMARY, primaryPool, Target.REPLICA, replicaPool));
+        routing.setDefaultTargetDataSource(primaryPool);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private enum Target {
+        PRIMARY, REPLICA
     }
 
+    private static final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            boolean staleAllowed = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    && STALE_READS_ALLOWED.contains(TransactionSynchronizationManager.getCurrentTransactionName());
+            return staleAllowed ? Target.REPLICA : Target.PRIMARY;
+        }
+    }
 
     public JdbcTemplate jdbcTemplate(DataSource dataSource) {
         return new JdbcTemplate(dataSource);
     }
-    
+
+    @PreDestroy
+    void closePools() {
+        if (replicaPool != null) {
+            replicaPool.close();
+        }
+        if (primaryPool != null) {
+            primaryPool.close();
+        }
+    }
+
+    private HikariDataSource createPool(String name, String url, String username, String password,
+            ConnectionPoolMetrics poolMetrics) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setDriverClassName(driverClassName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(minimumIdle);
+        config.setConnectionTimeout(connectionTimeoutMillis);
+        config.setIdleTimeout(idleTimeoutMillis);
+        config.setMaxLifetime(maxLifetimeMillis);
+        config.setLeakDetectionThreshold(leakDetectionThresholdMillis);
+        config.setMetricsTrackerFactory(poolMetrics);
+        return new HikariDataSource(config);
+    }
 }
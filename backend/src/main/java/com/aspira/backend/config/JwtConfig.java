@@ -1,31 +1,97 @@
 package com.aspira.backend.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 @Component
 public class JwtConfig {
 
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    // Derived once; the parser is immutable and thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Recently verified tokens keyed by a SHA-256 hash of the token, so repeat requests
+    // with the same bearer token skip HMAC verification and JSON decoding. Entries are
+    // dropped once their token expires. Reads take no lock; past the size limit the
+    // oldest insertions are evicted first.
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    // Verify the token once and return all of its claims; throws JwtException when the
+    // token is malformed, badly signed or expired
+    public Claims parseClaims(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                return cached.claims();
+            }
+            verifiedTokens.remove(key); // Expired: the full parse below reports it
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiresAt = claims.getExpiration();
+        if (expiresAt != null) {
+            cacheVerified(key, new VerifiedToken(claims, expiresAt.getTime()));
+        }
+        return claims;
+    }
+
+    // Every cached key is in the queue, so keeping the queue within the limit bounds the map
+    private void cacheVerified(String key, VerifiedToken token) {
+        if (verifiedTokens.put(key, token) != null) {
+            return;
+        }
+        insertionOrder.offer(key);
+        if (queued.incrementAndGet() > verifiedCacheSize) {
+            String eldest = insertionOrder.poll();
+            if (eldest != null) {
+                queued.decrementAndGet();
+                verifiedTokens.remove(eldest);
+            }
+        }
     }
 
     public String extractUsername(String token) {
@@ -37,39 +103,40 @@ public class JwtConfig {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return claimsResolver.apply(parseClaims(token));
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    public String generateToken(UserDetails userDetails) {
+    // The user ID travels in the token so requests can be authenticated without a user lookup
+    public String generateToken(UserDetails userDetails, Long userId) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
         return createToken(claims, userDetails.getUsername());
     }
 
+    // The jti claim identifies the token so it can be revoked (TokenRevocationService)
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration * 1000))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        Claims claims = parseClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername())
+                && claims.getExpiration().after(new Date());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 } 
\ No newline at end of file
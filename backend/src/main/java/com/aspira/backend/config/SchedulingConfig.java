@@ -0,0 +1,22 @@
+package com.aspira.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// Scheduler for @Scheduled jobs (outbox polling, counter flushes, ranking, purges, heartbeats).
+// The default has a single thread, so one slow job delays every other one. The bean must be
+// named "taskScheduler": the STOMP broker registers its own scheduler, and with two candidates
+// @Scheduled picks the one with this name.
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,69 @@
+package com.aspira.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Data fixes that must run before Hibernate updates the schema.
+// Adding a unique constraint to a table that already violates it fails with only a logged
+// warning under ddl-auto=update, leaving the table without the constraint, so the offending
+// rows are cleaned up first. Each step is skipped once its constraint exists.
+@Component("schemaPreparation")
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaPreparation {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void prepare() {
+        removeDuplicateReactions();
+        removeDuplicateGroupMembers();
+    }
+
+    // uk_reactions_post_user: keep each user's latest reaction on a post. The engagement
+    // counters are rebuilt from the reactions table on startup.
+    private void removeDuplicateReactions() {
+        if (!tableExists("reactions") || constraintExists("uk_reactions_post_user")) {
+            return;
+        }
+        int removed = jdbcTemplate.update("DELETE FROM reactions r USING reactions newer "
+                + "WHERE r.post_id = newer.post_id AND r.user_id = newer.user_id AND r.reaction_id < newer.reaction_id");
+        if (removed > 0) {
+            log.warn("Removed {} duplicate reactions before adding uk_reactions_post_user", removed);
+        }
+    }
+
+    // uk_ch_group_members_group_user: keep each member's earliest row in a group, so joinedAt
+    // stays the original join time
+    private void removeDuplicateGroupMembers() {
+        if (!tableExists("ch_group_members") || constraintExists("uk_ch_group_members_group_user")) {
+            return;
+        }
+        int removed = jdbcTemplate.update("DELETE FROM ch_group_members m USING ch_group_members earlier "
+                + "WHERE m.group_id = earlier.group_id AND m.user_id = earlier.user_id AND m.id > earlier.id");
+        if (removed > 0) {
+            log.warn("Removed {} duplicate group members before adding uk_ch_group_members_group_user", removed);
+        }
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private boolean constraintExists(String name) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, name);
+        return count != null && count > 0;
+    }
+
+    // Makes the EntityManagerFactory, and with it Hibernate's schema update, wait for the steps above
+    @Component
+    static class JpaDependency extends EntityManagerFactoryDependsOnPostProcessor {
+        JpaDependency() {
+            super("schemaPreparation");
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.aspira.backend.config;
 
+import com.aspira.backend.security.BoundedPasswordEncoder;
 import com.aspira.backend.security.JwtAuthenticationFilter;
 import com.aspira.backend.security.RestAuthenticationEntryPoint;
 import com.aspira.backend.service.CustomOAuth2UserService;
 import com.aspira.backend.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -31,6 +34,16 @@ public class SecurityConfig {
     private final CustomOAuth2UserService customOAuth2UserService;
     private final RestAuthenticationEntryPoint restAuthenticationEntryPoint;
 
+    // BCrypt is deliberately slow; cap how many cores it may take and how many callers may wait
+    @Value("${auth.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${auth.hashing-queue-size:64}")
+    private int hashingQueueSize;
+
+    @Value("${auth.hashing-timeout-ms:5000}")
+    private long hashingTimeoutMillis;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthFilter) throws Exception {
         http
@@ -38,8 +51,12 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of SSE streams were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Authentication endpoints
                          .requestMatchers("/api/auth/**", "/oauth2/**", "/login/oauth2/**", "/error", "/api/greeting").permitAll()
+                         // WebSocket handshake; STOMP CONNECT frames carry the JWT (StompAuthChannelInterceptor)
+                         .requestMatchers("/ws/**").permitAll()
                        
                          .requestMatchers("/api/users/check-email").permitAll() // Explicitly for GET /api/users/check-email from logs
                 .requestMatchers(HttpMethod.POST, "/api/users").permitAll() // Explicitly for POST /api/users (user creation)
@@ -103,7 +120,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, hashingQueueSize, hashingTimeoutMillis);
     }
 }
 
@@ -0,0 +1,65 @@
+package com.aspira.backend.config;
+
+import com.aspira.backend.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+// STOMP over WebSocket for group chat.
+// Clients connect to /ws, send to /app/groups/{groupId}/messages and subscribe to
+// /topic/groups/{groupId}. A single node uses the in-process simple broker; with
+// chat.broker-relay.enabled=true messages go through an external STOMP broker
+// (e.g. RabbitMQ or ActiveMQ) so every node sees every broadcast.
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Value("${chat.broker-relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${chat.broker-relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker-relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker-relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker-relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOrigins("http://localhost:5173");
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setApplicationDestinationPrefixes("/app");
+        if (relayEnabled) {
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else {
+            registry.enableSimpleBroker("/topic");
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+}
@@ -3,8 +3,11 @@ package com.aspira.backend.controllers;
 import com.aspira.backend.dto.AuthenticationRequest;
 import com.aspira.backend.dto.AuthenticationResponse;
 import com.aspira.backend.dto.UserDTO;
+import com.aspira.backend.security.AuthRateLimiter;
+import com.aspira.backend.security.JwtTokenProvider;
 import com.aspira.backend.service.AuthenticationService;
 import com.aspira.backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,9 +21,12 @@ public class AuthController {
 
     private final UserService userService;
     private final AuthenticationService authenticationService;
+    private final AuthRateLimiter authRateLimiter;
+    private final JwtTokenProvider jwtTokenProvider;
 
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody UserDTO userDTO) {
+    public ResponseEntity<?> registerUser(@RequestBody UserDTO userDTO, HttpServletRequest httpRequest) {
+        authRateLimiter.checkAttempt(httpRequest, userDTO.getEmail());
         try {
             UserDTO createdUser = userService.createUser(userDTO);
             return ResponseEntity.ok(createdUser);
@@ -30,7 +36,8 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthenticationRequest request) {
+    public ResponseEntity<?> login(@RequestBody AuthenticationRequest request, HttpServletRequest httpRequest) {
+        authRateLimiter.checkAttempt(httpRequest, request.getEmail());
         try {
             AuthenticationResponse response = authenticationService.authenticate(request);
             return ResponseEntity.ok(response);
@@ -38,4 +45,14 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
         }
     }
+
+    // Revokes the bearer token so it is rejected on every node until it expires
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new IllegalArgumentException("Missing bearer token");
+        }
+        jwtTokenProvider.revoke(authHeader.substring(7));
+        return ResponseEntity.noContent().build();
+    }
 } 
\ No newline at end of file
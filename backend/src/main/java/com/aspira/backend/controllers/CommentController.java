@@ -1,16 +1,13 @@
 package com.aspira.backend.controllers;
 
 import com.aspira.backend.dto.CommentDTO;
+import com.aspira.backend.security.CurrentUserId;
 import com.aspira.backend.service.CommentService;
-import com.aspira.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import com.aspira.backend.model.User;
 
 import java.util.List;
 
@@ -22,15 +19,11 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class CommentController {
 
     private final CommentService commentService;
-    private final UserService userService;
 
     // Create a new comment
     @PostMapping
-    public ResponseEntity<CommentDTO> createComment(@RequestBody CommentDTO commentDTO) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        commentDTO.setUserId(user.getUserId());
+    public ResponseEntity<CommentDTO> createComment(@RequestBody CommentDTO commentDTO, @CurrentUserId Long userId) {
+        commentDTO.setUserId(userId);
         CommentDTO createdComment = commentService.createComment(commentDTO);
 
         // Add HATEOAS links
@@ -38,10 +31,10 @@ public class CommentController {
                 .getCommentsByPost(createdComment.getPostId()))
                 .withRel("get-comments"));
         createdComment.add(linkTo(methodOn(CommentController.class)
-                .updateComment(createdComment.getCommentId(), "updatedContent"))
+                .updateComment(createdComment.getCommentId(), "updatedContent", null))
                 .withRel("update-comment"));
         createdComment.add(linkTo(methodOn(CommentController.class)
-                .deleteComment(createdComment.getCommentId()))
+                .deleteComment(createdComment.getCommentId(), null))
                 .withRel("delete-comment"));
 
         return new ResponseEntity<>(createdComment, HttpStatus.CREATED);
@@ -54,10 +47,10 @@ public class CommentController {
 
         comments.forEach(comment -> {
             comment.add(linkTo(methodOn(CommentController.class)
-                    .updateComment(comment.getCommentId(), "updatedContent"))
+                    .updateComment(comment.getCommentId(), "updatedContent", null))
                     .withRel("update-comment"));
             comment.add(linkTo(methodOn(CommentController.class)
-                    .deleteComment(comment.getCommentId()))
+                    .deleteComment(comment.getCommentId(), null))
                     .withRel("delete-comment"));
         });
 
@@ -68,11 +61,8 @@ public class CommentController {
 
     // Delete a specific comment by ID (restricted to creator or post owner)
     @DeleteMapping("/{commentId}")
-    public ResponseEntity<Void> deleteComment(@PathVariable Long commentId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        commentService.deleteComment(commentId, user.getUserId());
+    public ResponseEntity<Void> deleteComment(@PathVariable Long commentId, @CurrentUserId Long userId) {
+        commentService.deleteComment(commentId, userId);
         return ResponseEntity.noContent().build();
     }
 
@@ -80,21 +70,19 @@ public class CommentController {
     @PutMapping("/{commentId}")
     public ResponseEntity<CommentDTO> updateComment(
             @PathVariable Long commentId,
-            @RequestParam String updatedContent) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        CommentDTO updatedComment = commentService.updateComment(commentId, user.getUserId(), updatedContent);
+            @RequestParam String updatedContent,
+            @CurrentUserId Long userId) {
+        CommentDTO updatedComment = commentService.updateComment(commentId, userId, updatedContent);
 
         // Add HATEOAS links
         updatedComment.add(linkTo(methodOn(CommentController.class)
                 .getCommentsByPost(updatedComment.getPostId()))
                 .withRel("get-comments"));
         updatedComment.add(linkTo(methodOn(CommentController.class)
-                .updateComment(updatedComment.getCommentId(), "updatedContent"))
+                .updateComment(updatedComment.getCommentId(), "updatedContent", null))
                 .withRel("update-comment"));
         updatedComment.add(linkTo(methodOn(CommentController.class)
-                .deleteComment(updatedComment.getCommentId()))
+                .deleteComment(updatedComment.getCommentId(), null))
                 .withRel("delete-comment"));
 
         return ResponseEntity.ok(updatedComment);
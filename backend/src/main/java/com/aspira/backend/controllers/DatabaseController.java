@@ -4,14 +4,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.aspira.backend.config.ConnectionPoolMetrics;
 import com.aspira.backend.service.DatabaseService;
 
+import java.util.List;
+
 @RestController
 public class DatabaseController {
 
     @Autowired
     private DatabaseService databaseService;
 
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
     @GetMapping("/test-database-connection")
     public String testConnection() {
         boolean isConnected = databaseService.checkConnection();
@@ -21,5 +27,11 @@ public class DatabaseController {
             return "Database connection failed!";
         }
     }
+
+    // Active, idle and pending connections and acquire times for each pool
+    @GetMapping("/database-pool-stats")
+    public List<ConnectionPoolMetrics.PoolSnapshot> poolStats() {
+        return connectionPoolMetrics.snapshot();
+    }
     
 }
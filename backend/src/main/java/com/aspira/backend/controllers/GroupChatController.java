@@ -0,0 +1,37 @@
+package com.aspira.backend.controllers;
+
+import com.aspira.backend.dto.GroupMessageDTO;
+import com.aspira.backend.security.AuthenticatedUser;
+import com.aspira.backend.service.GroupMessageService;
+import com.aspira.backend.service.GroupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+// STOMP entry point for group chat; the saved message reaches subscribers through GroupChatBroadcaster
+@Controller
+@RequiredArgsConstructor
+public class GroupChatController {
+
+    private final GroupMessageService messageService;
+    private final GroupService groupService;
+
+    @MessageMapping("/groups/{groupId}/messages")
+    public void sendMessage(@DestinationVariable Long groupId, @Payload GroupMessageDTO payload, Principal principal) {
+        Long userId = AuthenticatedUser.from(principal).getUserId(); // STOMP sessions always carry the JWT principal
+
+        if (!groupService.isUserMemberOfGroup(groupId, userId)) {
+            throw new MessageDeliveryException("Not a member of group " + groupId);
+        }
+        if (payload.getContent() == null || payload.getContent().isBlank()) {
+            throw new IllegalArgumentException("Message content is required");
+        }
+
+        messageService.sendMessage(groupId, userId, payload.getContent());
+    }
+}
@@ -1,14 +1,13 @@
 package com.aspira.backend.controllers;
 
 import com.aspira.backend.dto.GroupMessageDTO;
+import com.aspira.backend.dto.GroupMessagePageDTO;
+import com.aspira.backend.security.CurrentUserId;
 import com.aspira.backend.service.GroupMessageService;
 import com.aspira.backend.service.GroupService;
-import com.aspira.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,17 +18,13 @@ import java.util.List;
 public class GroupMessageController {
 
     private final GroupMessageService messageService;
-    private final UserService userService;
     private final GroupService groupService;
 
     @PostMapping("/{groupId}/messages")
     public ResponseEntity<GroupMessageDTO> sendMessage(
             @PathVariable Long groupId,
             @RequestBody String content,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        // Fetch user ID from the database using the email
-        Long userId = userService.getUserByEmail(userDetails.getUsername()).getUserId();
-
+            @CurrentUserId Long userId) {
         // Check if the user is a member of the group
         if (!groupService.isUserMemberOfGroup(groupId, userId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -42,10 +37,7 @@ public class GroupMessageController {
     @GetMapping("/{groupId}/messages")
     public ResponseEntity<List<GroupMessageDTO>> getMessages(
             @PathVariable Long groupId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        // Fetch user ID from the database using the email
-        Long userId = userService.getUserByEmail(userDetails.getUsername()).getUserId();
-
+            @CurrentUserId Long userId) {
         // Check if the user is a member of the group
         if (!groupService.isUserMemberOfGroup(groupId, userId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -55,14 +47,27 @@ public class GroupMessageController {
         return ResponseEntity.ok(messages);
     }
 
+    // Paginated history: ?limit=N with optional before=<messageId> or after=<messageId>, oldest first
+    @GetMapping(value = "/{groupId}/messages", params = "limit")
+    public ResponseEntity<GroupMessagePageDTO> getMessagesPage(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam Integer limit,
+            @CurrentUserId Long userId) {
+        if (!groupService.isUserMemberOfGroup(groupId, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(messageService.getMessagesPage(groupId, before, after, limit));
+    }
+
     @PutMapping("/{groupId}/messages/{messageId}")
     public ResponseEntity<GroupMessageDTO> editMessage(
             @PathVariable Long groupId,
             @PathVariable Long messageId,
             @RequestBody String newContent,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = userService.getUserByEmail(userDetails.getUsername()).getUserId();
-
+            @CurrentUserId Long userId) {
         if (!groupService.isUserMemberOfGroup(groupId, userId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -75,9 +80,7 @@ public class GroupMessageController {
     public ResponseEntity<Void> deleteMessage(
             @PathVariable Long groupId,
             @PathVariable Long messageId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = userService.getUserByEmail(userDetails.getUsername()).getUserId();
-
+            @CurrentUserId Long userId) {
         if (!groupService.isUserMemberOfGroup(groupId, userId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -0,0 +1,26 @@
+package com.aspira.backend.controllers;
+
+import com.aspira.backend.dto.TrendingHashtagDTO;
+import com.aspira.backend.service.TrendingHashtagService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hashtags")
+@RequiredArgsConstructor
+public class HashtagController {
+
+    private final TrendingHashtagService trendingHashtagService;
+
+    // Trending hashtags for a window (1h, 24h or 7d), served from memory
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingHashtagDTO>> getTrending(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        TrendingHashtagService.Window trendingWindow = TrendingHashtagService.Window.fromLabel(window);
+        return ResponseEntity.ok(trendingHashtagService.getTrending(trendingWindow, limit));
+    }
+}
@@ -1,10 +1,10 @@
 package com.aspira.backend.controllers;
 
 import com.aspira.backend.dto.MediaDTO;
+import com.aspira.backend.security.CurrentUserId;
 import com.aspira.backend.service.MediaService;
-import com.aspira.backend.service.UserService;
-import com.aspira.backend.model.User;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -14,8 +14,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -27,10 +25,10 @@ import jakarta.servlet.http.HttpServletRequest;
 @RestController
 @RequestMapping("/api/media")
 @RequiredArgsConstructor
+@Slf4j
 public class MediaController {
 
     private final MediaService mediaService;
-    private final UserService userService;
 
     @Value("${media.upload-dir:uploads/}") // Inject the upload directory path
     private String uploadDir;
@@ -40,12 +38,10 @@ public class MediaController {
     public ResponseEntity<MediaDTO> uploadMedia(
             @RequestParam("file") MultipartFile file,
             @RequestParam("postId") Long postId,
-            @RequestParam("mediaType") String mediaType) throws IOException {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
+            @RequestParam("mediaType") String mediaType,
+            @CurrentUserId Long userId) throws IOException {
         // Optionally, you can check if the user is the owner of the post before allowing upload
-        MediaDTO uploadedMedia = mediaService.uploadMedia(file, postId, mediaType, user.getUserId());
+        MediaDTO uploadedMedia = mediaService.uploadMedia(file, postId, mediaType, userId);
         return new ResponseEntity<>(uploadedMedia, HttpStatus.CREATED);
     }
 
@@ -58,11 +54,8 @@ public class MediaController {
 
     // Delete a media file (authenticated user, owner of the post)
     @DeleteMapping("/{mediaId}")
-    public ResponseEntity<Void> deleteMedia(@PathVariable Long mediaId) throws IOException {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        mediaService.deleteMedia(mediaId, user.getUserId());
+    public ResponseEntity<Void> deleteMedia(@PathVariable Long mediaId, @CurrentUserId Long userId) throws IOException {
+        mediaService.deleteMedia(mediaId, userId);
         return ResponseEntity.noContent().build();
     }
 
@@ -76,14 +69,7 @@ public class MediaController {
             Path fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
             Path filePath = fileStorageLocation.resolve(relativePath).normalize();
 
-            // Add debug logging
-            System.out.println("MediaController: Trying to serve file: " + filePath);
-
-            if (!Files.exists(filePath)) {
-                System.out.println("MediaController: File does NOT exist: " + filePath);
-            } else {
-                System.out.println("MediaController: File exists: " + filePath);
-            }
+            log.debug("Serving media file {}", filePath);
 
             Resource resource = new UrlResource(filePath.toUri());
 
@@ -102,11 +88,11 @@ public class MediaController {
                         .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
                         .body(resource);
             } else {
-                System.out.println("MediaController: Resource not found or not readable: " + filePath);
+                log.debug("Media file not found or not readable: {}", filePath);
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception ex) {
-            System.out.println("MediaController: Exception while serving file: " + ex.getMessage());
+            log.warn("Failed to serve media file {}: {}", relativePath, ex.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -1,22 +1,25 @@
 package com.aspira.backend.controllers;
 
 import com.aspira.backend.dto.NotificationDTO;
+import com.aspira.backend.dto.NotificationPageDTO;
+import com.aspira.backend.security.CurrentUserId;
 import com.aspira.backend.service.NotificationService;
-import com.aspira.backend.service.UserService;
+import com.aspira.backend.service.NotificationStreamService;
+import com.aspira.backend.util.FeedCursor;
 
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 
 import java.util.List;
-
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -24,13 +27,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 public class NotificationController {
 
     private final NotificationService notificationService;
-    private final UserService userService;
+    private final NotificationStreamService notificationStreamService;
 
     @PostMapping
-    public ResponseEntity<NotificationDTO> createNotification(@RequestBody NotificationDTO notificationDTO) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        Long userId = userService.getUserByEmail(email).getUserId();
+    public ResponseEntity<NotificationDTO> createNotification(@RequestBody NotificationDTO notificationDTO,
+            @CurrentUserId Long userId) {
         notificationDTO.setUserId(userId);
         NotificationDTO createdNotification = notificationService.createNotification(notificationDTO);
         addLinks(createdNotification);
@@ -38,15 +39,43 @@ public class NotificationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<NotificationDTO>> getNotificationsByUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        Long userId = userService.getUserByEmail(email).getUserId();
+    public ResponseEntity<List<NotificationDTO>> getNotificationsByUser(@CurrentUserId Long userId) {
         List<NotificationDTO> notifications = notificationService.getNotificationsByUserId(userId);
         notifications.forEach(this::addLinks);
         return ResponseEntity.ok(notifications);
     }
 
+    // Server-Sent Events stream of new notifications; a reconnecting client sends
+    // Last-Event-ID and receives what it missed before live events
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @CurrentUserId Long userId) {
+        List<NotificationDTO> missed = notificationService.getNotificationsAfter(userId, FeedCursor.decode(lastEventId));
+        return notificationStreamService.subscribe(userId, missed);
+    }
+
+    // Cursor-paginated history, newest first; pass nextCursor from the previous page to continue
+    @GetMapping(params = "limit")
+    public ResponseEntity<NotificationPageDTO> getNotificationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam Integer limit,
+            @CurrentUserId Long userId) {
+        NotificationPageDTO page = notificationService.getNotificationsPage(userId, cursor, limit);
+        page.getNotifications().forEach(this::addLinks);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@CurrentUserId Long userId) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(userId)));
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllAsRead(@CurrentUserId Long userId) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllAsRead(userId)));
+    }
+
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long notificationId) {
         notificationService.markAsRead(notificationId);
@@ -62,7 +91,7 @@ public class NotificationController {
     // Helper method to add HATEOAS links to a NotificationDTO
     private void addLinks(NotificationDTO notification) {
         notification.add(linkTo(methodOn(NotificationController.class)
-                .getNotificationsByUser())
+                .getNotificationsByUser(null))
                 .withRel("user-notifications"));
         notification.add(linkTo(methodOn(NotificationController.class)
                 .markAsRead(notification.getNotificationId()))
@@ -1,15 +1,18 @@
 package com.aspira.backend.controllers;
 
 import com.aspira.backend.dto.PostDTO;
+import com.aspira.backend.dto.PostPageDTO;
+import com.aspira.backend.dto.ViewMetricsDTO;
+import com.aspira.backend.security.CurrentUserId;
+import com.aspira.backend.service.LeaderboardService;
 import com.aspira.backend.service.PostService;
-import com.aspira.backend.service.UserService;
+import com.aspira.backend.service.ViewTrackingService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import com.aspira.backend.model.User;
 
 import java.util.List;
 
@@ -18,21 +21,21 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
-    private final UserService userService;
+    private final ViewTrackingService viewTrackingService;
+    private final LeaderboardService leaderboardService;
 
-    // Constructor injection for PostService and UserService
-    public PostController(PostService postService, UserService userService) {
+    // Constructor injection for PostService, ViewTrackingService and LeaderboardService
+    public PostController(PostService postService, ViewTrackingService viewTrackingService,
+            LeaderboardService leaderboardService) {
         this.postService = postService;
-        this.userService = userService;
+        this.viewTrackingService = viewTrackingService;
+        this.leaderboardService = leaderboardService;
     }
 
     // Create a new post
     @PostMapping
-    public ResponseEntity<PostDTO> createPost(@Valid @RequestBody PostDTO postDTO) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        PostDTO createdPost = postService.createPost(user.getUserId(), postDTO);
+    public ResponseEntity<PostDTO> createPost(@Valid @RequestBody PostDTO postDTO, @CurrentUserId Long userId) {
+        PostDTO createdPost = postService.createPost(userId, postDTO);
         return new ResponseEntity<>(createdPost, HttpStatus.CREATED);
     }
 
@@ -50,6 +53,14 @@ public class PostController {
         return ResponseEntity.ok(posts);
     }
 
+    // Get a page of the feed (cursor mode, selected when "limit" is present)
+    @GetMapping(params = "limit")
+    public ResponseEntity<PostPageDTO> getFeedPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam Integer limit) {
+        return ResponseEntity.ok(postService.getFeedPage(cursor, limit));
+    }
+
     // Get posts by user ID
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<PostDTO>> getPostsByUserId(@PathVariable Long userId) {
@@ -57,13 +68,31 @@ public class PostController {
         return ResponseEntity.ok(posts);
     }
 
+    // Get a page of posts by user ID (cursor mode)
+    @GetMapping(value = "/user/{userId}", params = "limit")
+    public ResponseEntity<PostPageDTO> getPostsByUserIdPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Integer limit) {
+        return ResponseEntity.ok(postService.getPostsByUserIdPage(userId, cursor, limit));
+    }
+
     // Get a post by ID
     @GetMapping("/{postId}")
     public ResponseEntity<PostDTO> getPostById(@PathVariable Long postId) {
         PostDTO postDTO = postService.getPostById(postId);
+        // Count the view in the in-memory buffer, deduplicated per viewer
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        viewTrackingService.recordView(postId, authentication != null ? authentication.getName() : null);
         return ResponseEntity.ok(postDTO);
     }
 
+    // Get view buffer metrics
+    @GetMapping("/view-metrics")
+    public ResponseEntity<ViewMetricsDTO> getViewMetrics() {
+        return ResponseEntity.ok(viewTrackingService.getMetrics());
+    }
+
     // Get posts by hashtag (case-insensitive)
     @GetMapping("/search/hashtag")
     public ResponseEntity<List<PostDTO>> searchByHashtag(
@@ -72,6 +101,15 @@ public class PostController {
                 postService.searchByHashtag(hashtag));
     }
 
+    // Get a page of posts by hashtag (cursor mode)
+    @GetMapping(value = "/search/hashtag", params = "limit")
+    public ResponseEntity<PostPageDTO> searchByHashtagPage(
+            @RequestParam String hashtag,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Integer limit) {
+        return ResponseEntity.ok(postService.searchByHashtagPage(hashtag, cursor, limit));
+    }
+
     // Get posts by category (case-insensitive)
     @GetMapping("/category/{category}")
     public ResponseEntity<List<PostDTO>> getPostsByCategory(@PathVariable String category) {
@@ -79,38 +117,43 @@ public class PostController {
         return ResponseEntity.ok(posts);
     }
 
+    // Get a page of posts by category (cursor mode)
+    @GetMapping(value = "/category/{category}", params = "limit")
+    public ResponseEntity<PostPageDTO> getPostsByCategoryPage(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam Integer limit) {
+        return ResponseEntity.ok(postService.getPostsByCategoryPage(category, cursor, limit));
+    }
+
     // Update a post
     @PutMapping("/{postId}")
     public ResponseEntity<PostDTO> updatePost(
             @PathVariable Long postId,
-            @Valid @RequestBody PostDTO postDTO) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        PostDTO updatedPost = postService.updatePost(postId, user.getUserId(), postDTO);
+            @Valid @RequestBody PostDTO postDTO,
+            @CurrentUserId Long userId) {
+        PostDTO updatedPost = postService.updatePost(postId, userId, postDTO);
         return ResponseEntity.ok(updatedPost);
     }
 
     // Delete a post
     @DeleteMapping("/{postId}")
-    public ResponseEntity<Void> deletePost(@PathVariable Long postId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        postService.deletePost(postId, user.getUserId());
+    public ResponseEntity<Void> deletePost(@PathVariable Long postId, @CurrentUserId Long userId) {
+        postService.deletePost(postId, userId);
         return ResponseEntity.noContent().build();
     }
 
-    // Get ranked posts (sorted by rank score)
+    // Get ranked posts (sorted by rank score), served from the in-memory leaderboard
     @GetMapping("/rank")
     public ResponseEntity<List<PostDTO>> getRankedPosts() {
-        List<PostDTO> rankedPosts = postService.getRankedPosts();
+        List<PostDTO> rankedPosts = leaderboardService.getAll();
         return ResponseEntity.ok(rankedPosts);
     }
 
+    // Get the top ranked posts, served from the in-memory leaderboard
     @GetMapping("/top-ranked")
     public ResponseEntity<List<PostDTO>> getTopRankedPosts(@RequestParam(defaultValue = "10") int limit) {
-        List<PostDTO> topPosts = postService.getTopRankedPosts(limit);
+        List<PostDTO> topPosts = leaderboardService.getTop(limit);
         return ResponseEntity.ok(topPosts);
     }
 }
@@ -1,15 +1,13 @@
 package com.aspira.backend.controllers;
 
 import com.aspira.backend.dto.ReactionDTO;
+import com.aspira.backend.dto.ReactionSummaryDTO;
+import com.aspira.backend.security.CurrentUserId;
 import com.aspira.backend.service.ReactionService;
-import com.aspira.backend.service.UserService;
-import com.aspira.backend.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.List;
 
@@ -19,14 +17,10 @@ import java.util.List;
 public class ReactionController {
 
     private final ReactionService reactionService;
-    private final UserService userService;
 
     @PostMapping
-    public ResponseEntity<ReactionDTO> createReaction(@RequestBody ReactionDTO reactionDTO) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        reactionDTO.setUserId(user.getUserId());
+    public ResponseEntity<ReactionDTO> createReaction(@RequestBody ReactionDTO reactionDTO, @CurrentUserId Long userId) {
+        reactionDTO.setUserId(userId);
         ReactionDTO createdReaction = reactionService.createReaction(reactionDTO);
         return new ResponseEntity<>(createdReaction, HttpStatus.CREATED);
     }
@@ -37,24 +31,26 @@ public class ReactionController {
         return ResponseEntity.ok(reactions);
     }
 
+    // Reaction counts per type plus the caller's own reaction
+    @GetMapping("/post/{postId}/summary")
+    public ResponseEntity<ReactionSummaryDTO> getReactionSummary(@PathVariable Long postId, @CurrentUserId Long userId) {
+        return ResponseEntity.ok(reactionService.getReactionSummary(postId, userId));
+    }
+
     @PutMapping("/{reactionId}")
     public ResponseEntity<ReactionDTO> updateReaction(
             @PathVariable Long reactionId,
-            @RequestParam String newReactionType) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        ReactionDTO updatedReaction = reactionService.updateReaction(reactionId, user.getUserId(), newReactionType);
+            @RequestParam String newReactionType,
+            @CurrentUserId Long userId) {
+        ReactionDTO updatedReaction = reactionService.updateReaction(reactionId, userId, newReactionType);
         return ResponseEntity.ok(updatedReaction);
     }
 
     @DeleteMapping("/{reactionId}")
     public ResponseEntity<Void> removeReaction(
-            @PathVariable Long reactionId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        User user = userService.getUserByEmail(email);
-        reactionService.removeReaction(reactionId, user.getUserId());
+            @PathVariable Long reactionId,
+            @CurrentUserId Long userId) {
+        reactionService.removeReaction(reactionId, userId);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,13 +1,11 @@
 package com.aspira.backend.controllers;
 
 import com.aspira.backend.dto.TaskCornerDTO;
+import com.aspira.backend.security.CurrentUserId;
 import com.aspira.backend.service.TaskCornerService;
-import com.aspira.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.List;
 
@@ -18,14 +16,8 @@ public class TaskCornerController {
     @Autowired
     private TaskCornerService taskCornerService;
 
-    @Autowired
-    private UserService userService;
-
     @PostMapping
-    public ResponseEntity<TaskCornerDTO> createTask(@RequestBody TaskCornerDTO taskDTO) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        Long userId = userService.getUserByEmail(email).getUserId();
+    public ResponseEntity<TaskCornerDTO> createTask(@RequestBody TaskCornerDTO taskDTO, @CurrentUserId Long userId) {
         TaskCornerDTO createdTask = taskCornerService.createTask(taskDTO, userId);
         return ResponseEntity.ok(createdTask);
     }
@@ -45,10 +37,7 @@ public class TaskCornerController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<List<TaskCornerDTO>> getAllTasksByUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        Long userId = userService.getUserByEmail(email).getUserId();
+    public ResponseEntity<List<TaskCornerDTO>> getAllTasksByUser(@CurrentUserId Long userId) {
         List<TaskCornerDTO> tasks = taskCornerService.getAllTasksByUser(userId);
         return ResponseEntity.ok(tasks);
     }
@@ -3,8 +3,11 @@ package com.aspira.backend.controllers;
 import com.aspira.backend.dto.UserDTO;
 import com.aspira.backend.exception.ResourceNotFoundException;
 import com.aspira.backend.model.User;
+import com.aspira.backend.security.AuthRateLimiter;
+import com.aspira.backend.security.CurrentUserId;
 import com.aspira.backend.security.JwtTokenProvider;
 import com.aspira.backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,9 +35,11 @@ public class UserController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final AuthRateLimiter authRateLimiter;
 
     @PostMapping
-    public ResponseEntity<UserDTO> createUser(@Valid @RequestBody UserDTO userDTO) {
+    public ResponseEntity<UserDTO> createUser(@Valid @RequestBody UserDTO userDTO, HttpServletRequest request) {
+        authRateLimiter.checkAttempt(request, userDTO.getEmail());
         try {
             UserDTO createdUser = userService.createUser(userDTO);
             return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
@@ -44,15 +49,16 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginRequest) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginRequest, HttpServletRequest request) {
+        authRateLimiter.checkAttempt(request, loginRequest.get("email"));
         try {
             String email = loginRequest.get("email");
             String password = loginRequest.get("password");
             authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
 
             UserDetails userDetails = userService.loadUserByUsername(email);
-            String token = jwtTokenProvider.createToken(userDetails);
             Long userId = userService.getUserByEmail(email).getUserId();
+            String token = jwtTokenProvider.createToken(userDetails, userId);
 
             Map<String, Object> response = Map.of(
                 "token", token,
@@ -100,10 +106,7 @@ public class UserController {
     }
 
     @PutMapping("/me/profile")
-    public ResponseEntity<UserDTO> updateUserProfile(@RequestBody UserDTO userDTO) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        Long userId = userService.getUserByEmail(email).getUserId();
+    public ResponseEntity<UserDTO> updateUserProfile(@RequestBody UserDTO userDTO, @CurrentUserId Long userId) {
         try {
             UserDTO updatedUser = userService.updateUserProfile(userId, userDTO);
             return ResponseEntity.ok(updatedUser);
@@ -115,10 +118,7 @@ public class UserController {
     }
 
     @DeleteMapping("/me")
-    public ResponseEntity<Void> deleteUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        Long userId = userService.getUserByEmail(email).getUserId();
+    public ResponseEntity<Void> deleteUser(@CurrentUserId Long userId) {
         userService.deleteUser(userId);
         return ResponseEntity.noContent().build();
     }
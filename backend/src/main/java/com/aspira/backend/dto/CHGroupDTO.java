@@ -1,9 +1,11 @@
 package com.aspira.backend.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class CHGroupDTO {
     private Long id;
     private String name;
@@ -12,4 +14,16 @@ public class CHGroupDTO {
     private String adminName;
     private LocalDateTime createdAt;
     private int memberCount;
+
+    // Used by the listing projections in CHGroupRepository; COUNT yields a Long
+    public CHGroupDTO(Long id, String name, String description, Long adminId, String adminName,
+            LocalDateTime createdAt, Long memberCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.adminId = adminId;
+        this.adminName = adminName;
+        this.createdAt = createdAt;
+        this.memberCount = memberCount.intValue();
+    }
 } 
\ No newline at end of file
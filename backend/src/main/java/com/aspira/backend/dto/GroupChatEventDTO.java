@@ -0,0 +1,20 @@
+package com.aspira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupChatEventDTO {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    private String type; // CREATED, UPDATED or DELETED
+    private Long messageId;
+    private GroupMessageDTO message; // Null for DELETED
+}
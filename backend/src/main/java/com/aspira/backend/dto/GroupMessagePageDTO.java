@@ -0,0 +1,17 @@
+package com.aspira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupMessagePageDTO {
+    private List<GroupMessageDTO> messages; // Messages on this page, oldest first
+    private boolean hasMore; // Whether more messages exist in the requested direction
+}
@@ -1,5 +1,6 @@
 package com.aspira.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.hateoas.RepresentationModel;
 
 import jakarta.validation.constraints.NotBlank;
@@ -7,6 +8,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.List;
+
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class NotificationDTO extends RepresentationModel<NotificationDTO> {
@@ -24,6 +27,15 @@ public class NotificationDTO extends RepresentationModel<NotificationDTO> {
 
     private Boolean isRead; // Whether the notification is read
 
+    private String eventType; // Event that produced the notification, if any
+
+    private int actorCount; // Number of users merged into this notification
+
+    private List<String> latestActors; // Most recent actors first
+
     private String createdAt; // Timestamp for when the notification was created
+
+    @JsonIgnore
+    private String eventId; // Stream event id: encoded (lastActivityAt, notificationId) cursor
 }
 
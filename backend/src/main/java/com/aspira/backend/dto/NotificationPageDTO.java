@@ -0,0 +1,16 @@
+package com.aspira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageDTO {
+    private List<NotificationDTO> notifications; // Notifications on this page, newest first
+    private String nextCursor; // Cursor for the next page, null when there are no more notifications
+    private boolean hasMore; // Whether another page is available
+}
@@ -27,6 +27,8 @@ public class PostDTO {
     private String authorProfileImage;
     private double rankScore; 
     private int views;
+    private long reactionCount;
+    private long commentCount;
 
 
 }
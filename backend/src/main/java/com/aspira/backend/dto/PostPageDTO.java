@@ -0,0 +1,16 @@
+package com.aspira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostPageDTO {
+    private List<PostDTO> posts; // Posts on this page, newest first
+    private String nextCursor; // Cursor for the next page, null when there are no more posts
+    private boolean hasMore; // Whether another page is available
+}
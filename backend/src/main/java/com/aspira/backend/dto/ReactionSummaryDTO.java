@@ -0,0 +1,13 @@
+package com.aspira.backend.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class ReactionSummaryDTO {
+    private Long postId;
+    private long total; // Total number of reactions on the post
+    private Map<String, Long> counts; // Reaction count per ReactionType
+    private ReactionDTO myReaction; // The caller's own reaction, null if none
+}
@@ -0,0 +1,13 @@
+package com.aspira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingHashtagDTO {
+    private String name; // Hashtag name without the leading '#'
+    private long count; // Number of posts using the tag inside the window
+}
@@ -0,0 +1,13 @@
+package com.aspira.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class ViewMetricsDTO {
+    private long bufferedViews; // Views waiting for the next flush
+    private int bufferedPosts; // Posts with a buffer entry
+    private long recordedViews; // Views accepted into the buffer since startup
+    private long duplicateViews; // Repeat views ignored by per-user dedup
+    private long droppedViews; // Views shed because the buffer was full
+    private long flushedViews; // Views written to the database since startup
+}
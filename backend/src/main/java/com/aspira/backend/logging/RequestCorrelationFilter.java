@@ -0,0 +1,66 @@
+package com.aspira.backend.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Outermost filter: tags every log line of a request with a correlation ID (MDC "requestId",
+// taken from X-Request-Id when the caller sends one) and writes a one-line access log for a
+// sampled fraction of requests. Server errors and slow requests are always logged.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestCorrelationFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String MDC_REQUEST_ID = "requestId";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    @Value("${logging.request-sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${logging.slow-request-ms:1000}")
+    private long slowRequestMillis;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = requestId(request.getHeader(REQUEST_ID_HEADER));
+        MDC.put(MDC_REQUEST_ID, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            int status = response.getStatus();
+            if (status >= 500 || elapsedMillis >= slowRequestMillis) {
+                log.warn("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedMillis);
+            } else if (log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log.info("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedMillis);
+            }
+            MDC.remove(MDC_REQUEST_ID);
+        }
+    }
+
+    // Reuse a well-formed caller ID so logs can be joined across services; otherwise mint one
+    private static String requestId(String header) {
+        if (header != null && !header.isEmpty() && header.length() <= MAX_REQUEST_ID_LENGTH
+                && header.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '-' || c == '_')) {
+            return header;
+        }
+        return Long.toHexString(ThreadLocalRandom.current().nextLong()); // Cheaper than a SecureRandom UUID
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Setter;
 import lombok.ToString;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 @Entity
@@ -56,8 +57,9 @@ public class CHGroup {
         return id != null && id.equals(other.getId());
     }
 
+    // Groups only go into hash-based collections once persisted, so the ID is stable
     @Override
     public int hashCode() {
-        return getClass().hashCode();
+        return Objects.hashCode(id);
     }
 } 
\ No newline at end of file
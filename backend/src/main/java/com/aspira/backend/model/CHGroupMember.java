@@ -5,9 +5,12 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
-@Table(name = "ch_group_members")
+@Table(name = "ch_group_members",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ch_group_members_group_user", columnNames = { "group_id", "user_id" }),
+        indexes = @Index(name = "idx_ch_group_members_user_id", columnList = "user_id"))
 @Getter
 @Setter
 @ToString(exclude = {"group", "user"})
@@ -44,8 +47,10 @@ public class CHGroupMember {
         return id != null && id.equals(other.getId());
     }
 
+    // The member's user is set before the entity enters any set and never changes, so
+    // its ID is stable across persist and spreads a group's members over the buckets
     @Override
     public int hashCode() {
-        return getClass().hashCode();
+        return user != null ? Objects.hashCode(user.getUserId()) : 0;
     }
 }
\ No newline at end of file
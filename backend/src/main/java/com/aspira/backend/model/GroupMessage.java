@@ -7,7 +7,8 @@ import lombok.ToString;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ch_group_messages")
+@Table(name = "ch_group_messages",
+        indexes = @Index(name = "idx_group_messages_group_sent_id", columnList = "group_id, sent_at, id"))
 @Getter
 @Setter
 @ToString
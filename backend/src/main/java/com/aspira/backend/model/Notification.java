@@ -4,12 +4,18 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications",
+        indexes = {
+                @Index(name = "idx_notifications_user_created_at", columnList = "user_id, created_at"),
+                @Index(name = "idx_notifications_coalesce", columnList = "user_id, post_id, event_type"),
+                @Index(name = "idx_notifications_user_activity", columnList = "user_id, last_activity_at, notification_id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +41,20 @@ public class Notification {
     @Column(nullable = false)
     private Boolean isRead = false; // Whether the notification is read
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = true)
+    private NotificationEventType eventType; // Event that produced it; null for directly created notifications
+
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    private int actorCount = 1; // Number of users merged into this notification
+
+    @Column(nullable = true, columnDefinition = "TEXT")
+    private String latestActors; // Comma-separated usernames, most recent first
+
+    @Column(nullable = true)
+    private LocalDateTime lastActivityAt; // Time of creation or of the latest merged event; the stream cursor
+
     @CreationTimestamp
     private LocalDateTime createdAt; // Timestamp for when the notification was created
 }
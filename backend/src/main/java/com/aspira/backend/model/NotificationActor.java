@@ -0,0 +1,32 @@
+package com.aspira.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// One row per distinct user merged into a coalesced notification; actorCount on the
+// notification is only incremented when inserting a row here succeeds
+@Entity
+@Table(name = "notification_actors",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_actors_notification_actor",
+                columnNames = { "notification_id", "actor_id" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationActor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "notification_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Notification notification; // Aggregate notification; rows go with it when it is deleted
+
+    @Column(name = "actor_id", nullable = false)
+    private Long actorId; // User who acted
+}
@@ -0,0 +1,21 @@
+package com.aspira.backend.model;
+
+public enum NotificationEventType {
+    COMMENT_CREATED("commented on your post."),
+    COMMENT_DELETED(null),
+    REACTION_CREATED("liked your post.");
+
+    private final String aggregateAction; // Message tail for coalesced notifications; null if never coalesced
+
+    NotificationEventType(String aggregateAction) {
+        this.aggregateAction = aggregateAction;
+    }
+
+    public boolean isCoalesced() {
+        return aggregateAction != null;
+    }
+
+    public String getAggregateAction() {
+        return aggregateAction;
+    }
+}
@@ -0,0 +1,53 @@
+package com.aspira.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Pending notification written in the same transaction as the action that caused it;
+// NotificationOutboxService turns these rows into notifications in the background
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationEventType eventType; // What happened
+
+    @Column(nullable = false)
+    private Long recipientId; // User to notify; a plain id so enqueueing needs no lookup
+
+    @Column(nullable = true)
+    private Long actorId; // User who caused the event
+
+    @Column(nullable = true)
+    private String actorName; // Username of the actor at the time of the event
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message; // Notification message
+
+    @Column(nullable = true)
+    private Long postId; // ID of the associated post (optional)
+
+    @Column(nullable = true)
+    private Long commentId; // Optional: ID of the associated comment
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int attempts; // Failed dispatch attempts so far
+
+    @CreationTimestamp
+    private LocalDateTime createdAt; // Timestamp for when the event was recorded
+}
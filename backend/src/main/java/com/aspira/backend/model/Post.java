@@ -1,6 +1,7 @@
 package com.aspira.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -20,7 +21,10 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_created_at_post_id", columnList = "created_at DESC, post_id DESC"), // Feed cursor pagination
+        @Index(name = "idx_posts_user_created_at", columnList = "user_id, created_at DESC, post_id DESC") // Per-user feed
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,9 +48,20 @@ public class Post {
     @Column(nullable = false)
     private double rankScore;
 
-    @Column(nullable = false)
+    // Maintained by ViewTrackingService; not updatable through JPA for the same reason as the counters below
+    @Column(nullable = false, updatable = false)
     private int views;
 
+    // Denormalized engagement counters, maintained by EngagementCounterService.
+    // Not updatable through JPA so saving a Post never overwrites a concurrent flush.
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int reactionCount;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int commentCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
@@ -9,7 +9,9 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reactions")
+@Table(name = "reactions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reactions_post_user", columnNames = { "post_id", "user_id" }),
+        indexes = @Index(name = "idx_reactions_post_id", columnList = "post_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
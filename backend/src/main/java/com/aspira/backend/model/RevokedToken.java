@@ -0,0 +1,36 @@
+package com.aspira.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A JWT that was revoked (logout) before it expired, identified by its jti claim.
+// Rows are only needed until the token would have expired anyway.
+@Entity
+@Table(name = "revoked_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_revoked_tokens_jti", columnNames = "jti"),
+        indexes = {
+                @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+                @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long revokedId;
+
+    @Column(nullable = false, length = 64)
+    private String jti; // Token ID claim
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // When the token expires; the row can be purged after this
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt; // When the token was revoked; other nodes sync by this
+}
@@ -2,9 +2,36 @@ package com.aspira.backend.repository;
 
 import com.aspira.backend.model.CHGroupMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
  
 public interface CHGroupMemberRepository extends JpaRepository<CHGroupMember, Long> {
     Optional<CHGroupMember> findByGroupIdAndUserUserId(Long groupId, Long userId);
     boolean existsByGroupIdAndUserUserId(Long groupId, Long userId);
+
+    // Member user IDs only, for the membership index
+    @Query("SELECT m.user.userId FROM CHGroupMember m WHERE m.group.id = :groupId")
+    List<Long> findUserIdsByGroupId(@Param("groupId") Long groupId);
+
+    // Members with their users, in one query
+    @Query("SELECT m FROM CHGroupMember m JOIN FETCH m.user WHERE m.group.id = :groupId")
+    List<CHGroupMember> findWithUserByGroupId(@Param("groupId") Long groupId);
+
+    long countByGroupId(Long groupId);
+
+    // Adds a member unless already present; returns 0 when the user was already a member
+    @Modifying
+    @Query(value = "INSERT INTO ch_group_members (group_id, user_id, joined_at) VALUES (:groupId, :userId, :joinedAt)"
+            + " ON CONFLICT (group_id, user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("groupId") Long groupId, @Param("userId") Long userId,
+            @Param("joinedAt") LocalDateTime joinedAt);
+
+    // Returns the number of rows deleted, 0 when the user was not a member
+    @Modifying
+    @Query("DELETE FROM CHGroupMember m WHERE m.group.id = :groupId AND m.user.userId = :userId")
+    int deleteByGroupIdAndUserId(@Param("groupId") Long groupId, @Param("userId") Long userId);
 } 
\ No newline at end of file
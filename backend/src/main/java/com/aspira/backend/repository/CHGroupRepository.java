@@ -1,14 +1,23 @@
 package com.aspira.backend.repository;
 
+import com.aspira.backend.dto.CHGroupDTO;
 import com.aspira.backend.model.CHGroup;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface CHGroupRepository extends JpaRepository<CHGroup, Long> {
-    @Query("SELECT g FROM CHGroup g WHERE g.admin.userId = :adminId")
-    List<CHGroup> findByAdminUserId(Long adminId);
-    
-    @Query("SELECT g FROM CHGroup g JOIN g.members m WHERE m.user.userId = :userId")
-    List<CHGroup> findGroupsByMemberId(Long userId);
+    // Group listings as DTOs in one query: admin name from a join, member count from a subquery
+    String GROUP_DTO_SELECT = "SELECT new com.aspira.backend.dto.CHGroupDTO("
+            + "g.id, g.name, g.description, a.userId, a.username, g.createdAt, "
+            + "(SELECT COUNT(c) FROM CHGroupMember c WHERE c.group = g)) "
+            + "FROM CHGroup g JOIN g.admin a ";
+
+    @Query(GROUP_DTO_SELECT + "WHERE a.userId = :adminId ORDER BY g.createdAt DESC")
+    List<CHGroupDTO> findDTOsByAdminId(@Param("adminId") Long adminId);
+
+    @Query(GROUP_DTO_SELECT + "WHERE EXISTS (SELECT 1 FROM CHGroupMember m WHERE m.group = g AND m.user.userId = :userId) "
+            + "ORDER BY g.createdAt DESC")
+    List<CHGroupDTO> findDTOsByMemberId(@Param("userId") Long userId);
 } 
\ No newline at end of file
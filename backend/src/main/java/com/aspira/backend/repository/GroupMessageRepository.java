@@ -1,12 +1,34 @@
 package com.aspira.backend.repository;
 
 import com.aspira.backend.model.GroupMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface GroupMessageRepository extends JpaRepository<GroupMessage, Long> {
 
     @Query("SELECT m FROM GroupMessage m WHERE m.group.id = :groupId ORDER BY m.sentAt ASC")
     List<GroupMessage> findMessagesByGroupId(Long groupId);
+
+    // Keyset pages over (sentAt, id); the sender is fetched in the same query
+
+    @Query("SELECT m FROM GroupMessage m JOIN FETCH m.sender WHERE m.group.id = :groupId "
+            + "ORDER BY m.sentAt DESC, m.id DESC")
+    List<GroupMessage> findLatest(@Param("groupId") Long groupId, Pageable pageable);
+
+    // Newest messages older than the anchor message, newest first
+    @Query("SELECT m FROM GroupMessage m JOIN FETCH m.sender, GroupMessage a "
+            + "WHERE a.id = :anchorId AND m.group.id = :groupId "
+            + "AND (m.sentAt < a.sentAt OR (m.sentAt = a.sentAt AND m.id < a.id)) "
+            + "ORDER BY m.sentAt DESC, m.id DESC")
+    List<GroupMessage> findBefore(@Param("groupId") Long groupId, @Param("anchorId") Long anchorId, Pageable pageable);
+
+    // Oldest messages newer than the anchor message, oldest first
+    @Query("SELECT m FROM GroupMessage m JOIN FETCH m.sender, GroupMessage a "
+            + "WHERE a.id = :anchorId AND m.group.id = :groupId "
+            + "AND (m.sentAt > a.sentAt OR (m.sentAt = a.sentAt AND m.id > a.id)) "
+            + "ORDER BY m.sentAt ASC, m.id ASC")
+    List<GroupMessage> findAfter(@Param("groupId") Long groupId, @Param("anchorId") Long anchorId, Pageable pageable);
 }
@@ -2,8 +2,12 @@ package com.aspira.backend.repository;
 
 import com.aspira.backend.model.Hashtag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
     Optional<Hashtag> findByName(String name);
+
+    List<Hashtag> findByNameIn(Collection<String> names); // Batched lookup for all tags of a post
 }
@@ -0,0 +1,18 @@
+package com.aspira.backend.repository;
+
+import com.aspira.backend.model.NotificationActor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationActorRepository extends JpaRepository<NotificationActor, Long> {
+
+    // Returns 1 if the actor is new to the notification, 0 if already recorded
+    @Modifying
+    @Query(value = "INSERT INTO notification_actors (notification_id, actor_id) VALUES (:notificationId, :actorId) "
+            + "ON CONFLICT (notification_id, actor_id) DO NOTHING", nativeQuery = true)
+    int addActor(@Param("notificationId") Long notificationId, @Param("actorId") Long actorId);
+}
@@ -0,0 +1,28 @@
+package com.aspira.backend.repository;
+
+import com.aspira.backend.model.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Oldest pending events, locked for this transaction; rows locked by another node are skipped
+    @Query(value = "SELECT * FROM notification_outbox ORDER BY outbox_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificationOutbox> claimBatch(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM notification_outbox WHERE outbox_id = :outboxId FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<NotificationOutbox> claimById(@Param("outboxId") Long outboxId);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.attempts = o.attempts + 1 WHERE o.outboxId = :outboxId")
+    int incrementAttempts(@Param("outboxId") Long outboxId);
+}
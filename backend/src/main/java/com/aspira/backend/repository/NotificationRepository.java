@@ -1,12 +1,73 @@
 package com.aspira.backend.repository;
 
 import com.aspira.backend.model.Notification;
+import com.aspira.backend.model.NotificationEventType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserUserId(Long userId); // Find all notifications by user ID
+
+    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId "
+            + "ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Notification> findUserFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.notificationId < :notificationId)) "
+            + "ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Notification> findUserPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("notificationId") Long notificationId, Pageable pageable);
+
+    // Deletes up to :limit read notifications created before the cutoff; returns the number deleted
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE notification_id IN ("
+            + "SELECT notification_id FROM notifications WHERE is_read = true AND created_at < :cutoff "
+            + "ORDER BY notification_id LIMIT :limit)", nativeQuery = true)
+    int deleteReadBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Transaction-scoped advisory lock; false if another session holds it
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+
+    long countByUserUserIdAndIsReadFalse(Long userId); // Unread notifications of a user
+
+    // Returns (userId, unread count) pairs; users without unread notifications are absent
+    @Query("SELECT n.user.userId, COUNT(n) FROM Notification n WHERE n.isRead = false"
+            + " AND n.user.userId IN :userIds GROUP BY n.user.userId")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.userId = :userId AND n.isRead = false")
+    int markAllAsRead(@Param("userId") Long userId);
+
+    // Unread coalesced notifications that new events for these recipients and posts can merge into.
+    // Locked (in id order, so concurrent drainers cannot deadlock) until the merge commits.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Notification n WHERE n.isRead = false AND n.eventType IN :types"
+            + " AND n.user.userId IN :userIds AND n.postId IN :postIds AND n.lastActivityAt >= :since"
+            + " ORDER BY n.notificationId")
+    List<Notification> findCoalesceCandidates(@Param("types") Collection<NotificationEventType> types,
+            @Param("userIds") Collection<Long> userIds,
+            @Param("postIds") Collection<Long> postIds,
+            @Param("since") LocalDateTime since);
+
+    // Notifications created or updated after the stream cursor (lastActivityAt, id), oldest first
+    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId "
+            + "AND (n.lastActivityAt > :lastActivityAt "
+            + "OR (n.lastActivityAt = :lastActivityAt AND n.notificationId > :notificationId)) "
+            + "ORDER BY n.lastActivityAt ASC, n.notificationId ASC")
+    List<Notification> findUserActivityAfter(@Param("userId") Long userId,
+            @Param("lastActivityAt") LocalDateTime lastActivityAt,
+            @Param("notificationId") Long notificationId, Pageable pageable);
 }
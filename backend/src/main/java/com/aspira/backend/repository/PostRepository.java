@@ -1,11 +1,14 @@
 package com.aspira.backend.repository;
 
 import com.aspira.backend.model.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +20,60 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT p FROM Post p JOIN p.hashtags h WHERE h.name = :hashtag")
     List<Post> findByHashtag(@Param("hashtag") String hashtag);
 
-}
+    // Returns (postId, hashtag name) pairs for a batch of posts
+    @Query("SELECT p.postId, h.name FROM Post p JOIN p.hashtags h WHERE p.postId IN :postIds")
+    List<Object[]> findHashtagNamesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Returns (hashtag name, post createdAt) pairs for posts created since a point in time
+    @Query("SELECT h.name, p.createdAt FROM Post p JOIN p.hashtags h WHERE p.createdAt >= :since")
+    List<Object[]> findHashtagUsesSince(@Param("since") LocalDateTime since);
+
+    // Returns (postId, createdAt, views, reactionCount, commentCount) rows for a batch of posts, used by the ranking job
+    @Query("SELECT p.postId, p.createdAt, p.views, p.reactionCount, p.commentCount FROM Post p WHERE p.postId IN :postIds")
+    List<Object[]> findRankingInputs(@Param("postIds") Collection<Long> postIds);
+
+    // Walks post IDs in ascending chunks for full ranking passes
+    @Query("SELECT p.postId FROM Post p WHERE p.postId > :afterId ORDER BY p.postId ASC")
+    List<Long> findPostIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset (cursor) pagination queries. Posts are ordered newest first by
+    // (createdAt, postId); the "After" variants continue strictly below the cursor.
+    // The page size comes from the Pageable, which must always be page 0.
+
+    @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Post> findFeedFirstPage(Pageable pageable);
+
+    @Query("SELECT p FROM Post p WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId) "
+            + "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Post> findFeedPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("postId") Long postId,
+            Pageable pageable);
 
+    @Query("SELECT p FROM Post p WHERE LOWER(p.category) = LOWER(:category) ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Post> findCategoryFirstPage(@Param("category") String category, Pageable pageable);
+
+    @Query("SELECT p FROM Post p WHERE LOWER(p.category) = LOWER(:category) "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId)) "
+            + "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Post> findCategoryPageAfter(@Param("category") String category, @Param("createdAt") LocalDateTime createdAt,
+            @Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT p FROM Post p WHERE p.user.userId = :userId ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Post> findUserFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT p FROM Post p WHERE p.user.userId = :userId "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId)) "
+            + "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Post> findUserPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT p FROM Post p JOIN p.hashtags h WHERE h.name = :hashtag ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Post> findHashtagFirstPage(@Param("hashtag") String hashtag, Pageable pageable);
+
+    @Query("SELECT p FROM Post p JOIN p.hashtags h WHERE h.name = :hashtag "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId)) "
+            + "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<Post> findHashtagPageAfter(@Param("hashtag") String hashtag, @Param("createdAt") LocalDateTime createdAt,
+            @Param("postId") Long postId, Pageable pageable);
+
+}
 
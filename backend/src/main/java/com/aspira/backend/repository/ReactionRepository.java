@@ -2,9 +2,36 @@ package com.aspira.backend.repository;
 
 import com.aspira.backend.model.Reaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ReactionRepository extends JpaRepository<Reaction, Long> {
-    // Additional query methods can be added here if needed
+    List<Reaction> findByPostPostId(Long postId); // Find all reactions on a post (uses the post_id index)
+
+    Optional<Reaction> findByUserUserIdAndPostPostId(Long userId, Long postId); // A user's reaction on a post (unique)
+
+    interface UpsertResult {
+        Long getReactionId();
+
+        boolean isInserted();
+    }
+
+    // Creates the user's reaction on a post or changes its type. The unique (post_id, user_id)
+    // constraint makes concurrent reacts safe; xmax = 0 only for a freshly inserted row.
+    @Query(value = "INSERT INTO reactions (reaction_type, post_id, user_id, created_at)"
+            + " VALUES (:reactionType, :postId, :userId, :createdAt)"
+            + " ON CONFLICT (post_id, user_id) DO UPDATE SET reaction_type = EXCLUDED.reaction_type"
+            + " RETURNING reaction_id AS reactionId, (xmax = 0) AS inserted", nativeQuery = true)
+    UpsertResult upsert(@Param("postId") Long postId, @Param("userId") Long userId,
+            @Param("reactionType") String reactionType, @Param("createdAt") LocalDateTime createdAt);
+
+    // Returns (reactionType, count) pairs for a post
+    @Query("SELECT r.reactionType, COUNT(r) FROM Reaction r WHERE r.post.postId = :postId GROUP BY r.reactionType")
+    List<Object[]> countByTypeForPost(@Param("postId") Long postId);
 }
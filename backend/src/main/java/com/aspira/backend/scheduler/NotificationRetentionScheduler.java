@@ -0,0 +1,38 @@
+package com.aspira.backend.scheduler;
+
+import com.aspira.backend.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionScheduler {
+
+    private final NotificationService notificationService;
+
+    @Value("${notifications.retention-days:90}")
+    private long retentionDays;
+
+    @Value("${notifications.retention-batch-size:1000}")
+    private int batchSize;
+
+    // Purge read notifications past the retention age; unread ones are always kept.
+    // Each batch is its own transaction, so locks and undo stay small.
+    @Scheduled(cron = "${notifications.retention-cron:0 15 4 * * *}") // Runs nightly at 04:15 by default
+    public void purgeOldNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = notificationService.purgeReadNotifications(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        log.info("Purged {} read notifications older than {}", total, cutoff);
+    }
+}
@@ -1,20 +1,42 @@
 package com.aspira.backend.scheduler;
 
+import com.aspira.backend.service.EngagementCounterService;
+import com.aspira.backend.service.LeaderboardService;
 import com.aspira.backend.service.PostService;
+import com.aspira.backend.service.RankingService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class RankingScheduler {
 
+    private final RankingService rankingService;
+    private final EngagementCounterService engagementCounterService;
+    private final LeaderboardService leaderboardService;
     private final PostService postService;
 
     // Recalculate rank scores every hour
+    // Only posts with new interactions are recomputed; the rest are decayed in place
     @Scheduled(cron = "0 0 * * * *") // Runs at the start of every hour
     public void updateRankScores() {
-        postService.updateRankScores();
-        System.out.println("Rank scores updated!");
+        // Make sure buffered reaction/comment counts are in the posts table first
+        engagementCounterService.flush();
+        RankingService.RankUpdate update = rankingService.updateRankScores();
+        refreshLeaderboard();
+        log.info("Rank scores updated ({} pass): {} posts recomputed, {} posts decayed",
+                update.full() ? "full" : "incremental", update.recomputed(), update.decayed());
+    }
+
+    // Reload the leaderboard between ranking runs so its counts stay recent
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${leaderboard.refresh-ms:60000}", initialDelayString = "${leaderboard.refresh-ms:60000}")
+    public void refreshLeaderboard() {
+        leaderboardService.replace(postService.getTopRankedPosts(leaderboardService.getCapacity()));
     }
 }
@@ -0,0 +1,72 @@
+package com.aspira.backend.security;
+
+import com.aspira.backend.exception.RateLimitExceededException;
+import com.aspira.backend.util.TokenBucketLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Throttles login and signup attempts before any password hashing happens.
+// Every attempt takes a token from the caller's IP bucket and from the target email's
+// bucket, so a flood from one address and credential stuffing spread over many addresses
+// against one account are both cut off cheaply with a 429.
+// When a limiter is tracking max-keys addresses or emails, new ones pass unchecked until idle
+// buckets are evicted; the bounded password-hashing pool still caps the work they can cause.
+// The IP is the socket peer address; behind a proxy, enable forwarded-header handling so
+// it is the client's address.
+@Component
+@Slf4j
+public class AuthRateLimiter {
+
+    @Value("${auth.rate-limit.ip-capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.rate-limit.ip-refill-per-minute:10}")
+    private int ipRefillPerMinute;
+
+    @Value("${auth.rate-limit.email-capacity:5}")
+    private int emailCapacity;
+
+    @Value("${auth.rate-limit.email-refill-per-minute:5}")
+    private int emailRefillPerMinute;
+
+    @Value("${auth.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    private TokenBucketLimiter ipLimiter;
+    private TokenBucketLimiter emailLimiter;
+
+    @PostConstruct
+    void init() {
+        ipLimiter = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute, maxKeys);
+        emailLimiter = new TokenBucketLimiter(emailCapacity, emailRefillPerMinute, maxKeys);
+    }
+
+    // Throws RateLimitExceededException when the caller's IP or the email is over its limit
+    public void checkAttempt(HttpServletRequest request, String email) {
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos == 0 && email != null && !email.isBlank()) {
+            waitNanos = emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        }
+        if (waitNanos > 0) {
+            log.debug("Throttled authentication attempt from {}", request.getRemoteAddr());
+            throw new RateLimitExceededException("Too many attempts, please try again later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos)));
+        }
+    }
+
+    // Buckets that refilled completely carry no state; drop them to bound memory
+    @Scheduled(fixedDelayString = "${auth.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        int removed = ipLimiter.evictFull() + emailLimiter.evictFull();
+        if (removed > 0) {
+            log.debug("Evicted {} idle rate-limit buckets", removed);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.aspira.backend.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+
+// Principal built from a verified JWT alone, without loading the user row.
+// getUsername() is the email, so code reading authentication.getName() keeps working.
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long userId;
+    private final String email;
+
+    public AuthenticatedUser(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    // The AuthenticatedUser behind a servlet or STOMP principal, or null for other principals
+    public static AuthenticatedUser from(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // Never needed once the token is verified
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+}
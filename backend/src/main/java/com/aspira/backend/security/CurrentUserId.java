@@ -0,0 +1,12 @@
+package com.aspira.backend.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Binds a controller parameter to the authenticated user's ID (see CurrentUserIdArgumentResolver)
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUserId {
+}
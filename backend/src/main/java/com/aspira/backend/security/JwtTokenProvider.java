@@ -1,18 +1,33 @@
 package com.aspira.backend.security;
 
 import com.aspira.backend.config.JwtConfig;
+import com.aspira.backend.exception.ResourceNotFoundException;
+import com.aspira.backend.exception.UnauthorizedException;
+import com.aspira.backend.repository.UserRepository;
+import com.aspira.backend.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Component
 public class JwtTokenProvider {
 
     @Autowired
     private JwtConfig jwtConfig;
 
-    public String createToken(UserDetails userDetails) {
-        return jwtConfig.generateToken(userDetails);
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    public String createToken(UserDetails userDetails, Long userId) {
+        return jwtConfig.generateToken(userDetails, userId);
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
@@ -22,4 +37,36 @@ public class JwtTokenProvider {
     public String extractEmail(String token) {
         return jwtConfig.extractUsername(token);
     }
+
+    // Verify the token (signature, expiry and revocation) and build the principal from its claims.
+    // Tokens issued before the user ID claim existed fall back to one lookup by email.
+    public AuthenticatedUser authenticate(String token) {
+        Claims claims = jwtConfig.parseClaims(token);
+        if (tokenRevocationService.isRevoked(claims.getId())) {
+            throw new UnauthorizedException("Token has been revoked");
+        }
+        String email = claims.getSubject();
+        Long userId = claims.get(JwtConfig.USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            userId = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email))
+                    .getUserId();
+        }
+        return new AuthenticatedUser(userId, email);
+    }
+
+    // Revoke a valid token until it expires, e.g. on logout
+    public void revoke(String token) {
+        Claims claims;
+        try {
+            claims = jwtConfig.parseClaims(token);
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("Invalid token");
+        }
+        if (claims.getId() == null) {
+            throw new IllegalArgumentException("Token has no ID and cannot be revoked");
+        }
+        tokenRevocationService.revoke(claims.getId(),
+                LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+    }
 }
@@ -0,0 +1,88 @@
+package com.aspira.backend.security;
+
+import com.aspira.backend.service.GroupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Authenticates STOMP sessions with the same JWT as the REST API.
+// Browsers cannot set headers on the WebSocket handshake, so the token is sent in
+// the Authorization header of the STOMP CONNECT frame instead. Subscriptions to a
+// group topic are only allowed for members of that group, and clients may only SEND
+// to application destinations; a SEND to /topic/... would reach the broker directly
+// and skip the membership check in the message handler.
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Pattern GROUP_TOPIC = Pattern.compile("^/topic/groups/(\\d+)$");
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final GroupService groupService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand()) || StompCommand.SEND.equals(accessor.getCommand())) {
+            Principal user = accessor.getUser();
+            if (user == null) {
+                throw new MessageDeliveryException("Not authenticated");
+            }
+            if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                checkGroupTopic(accessor.getDestination(), user);
+            } else {
+                checkSendDestination(accessor.getDestination());
+            }
+        }
+        return message;
+    }
+
+    private Principal authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Missing bearer token");
+        }
+        String jwt = authHeader.substring(7);
+        try {
+            AuthenticatedUser user = jwtTokenProvider.authenticate(jwt);
+            return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        } catch (RuntimeException e) {
+            throw new MessageDeliveryException("Invalid token");
+        }
+    }
+
+    private void checkSendDestination(String destination) {
+        if (destination == null || !destination.startsWith(APPLICATION_PREFIX)) {
+            throw new MessageDeliveryException("Cannot send to " + destination);
+        }
+    }
+
+    private void checkGroupTopic(String destination, Principal user) {
+        Matcher matcher = destination != null ? GROUP_TOPIC.matcher(destination) : null;
+        if (matcher == null || !matcher.matches()) {
+            throw new MessageDeliveryException("Unknown destination: " + destination);
+        }
+        Long groupId = Long.valueOf(matcher.group(1));
+        Long userId = AuthenticatedUser.from(user).getUserId(); // Set on CONNECT by authenticate()
+        if (!groupService.isUserMemberOfGroup(groupId, userId)) {
+            throw new MessageDeliveryException("Not a member of group " + groupId);
+        }
+    }
+}
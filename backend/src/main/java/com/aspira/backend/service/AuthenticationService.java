@@ -29,9 +29,8 @@ public class AuthenticationService {
         );
 
         final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
-        final String jwt = jwtConfig.generateToken(userDetails);
-        
         User user = userService.getUserByEmail(request.getEmail());
+        final String jwt = jwtConfig.generateToken(userDetails, user.getUserId());
         
         return AuthenticationResponse.builder()
                 .token(jwt)
@@ -15,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +27,8 @@ public class CHGroupService {
     private final CHGroupMemberRepository memberRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final GroupService groupService;
+    private final GroupChatBroadcaster groupChatBroadcaster;
 
     @Transactional
     public CHGroupDTO createGroup(String name, String description, Long adminId) {
@@ -54,6 +57,7 @@ public class CHGroupService {
             log.debug("Saving group with admin member");
             CHGroup savedGroup = groupRepository.save(group);
             log.debug("Group saved successfully with ID: {}", savedGroup.getId());
+            groupService.memberAdded(savedGroup.getId(), admin.getUserId());
 
             return convertToDTO(savedGroup);
         } catch (Exception e) {
@@ -70,9 +74,7 @@ public class CHGroupService {
                 log.error("User not found with ID: {}", adminId);
                 throw new ResourceNotFoundException("User not found with ID: " + adminId);
             }
-            List<CHGroupDTO> groups = groupRepository.findByAdminUserId(adminId).stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            List<CHGroupDTO> groups = groupRepository.findDTOsByAdminId(adminId);
             log.debug("Found {} groups for admin", groups.size());
             return groups;
         } catch (Exception e) {
@@ -89,9 +91,7 @@ public class CHGroupService {
                 log.error("User not found with ID: {}", userId);
                 throw new ResourceNotFoundException("User not found with ID: " + userId);
             }
-            List<CHGroupDTO> groups = groupRepository.findGroupsByMemberId(userId).stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            List<CHGroupDTO> groups = groupRepository.findDTOsByMemberId(userId);
             log.debug("Found {} groups for member", groups.size());
             return groups;
         } catch (Exception e) {
@@ -122,15 +122,12 @@ public class CHGroupService {
                         return new ResourceNotFoundException("User not found with ID: " + userId);
                     });
 
-            if (memberRepository.existsByGroupIdAndUserUserId(groupId, userId)) {
+            // The unique (group_id, user_id) constraint makes this check race-free
+            if (memberRepository.insertIfAbsent(groupId, user.getUserId(), LocalDateTime.now()) == 0) {
                 log.error("User {} is already a member of group {}", userId, groupId);
                 throw new IllegalStateException("User is already a member of this group");
             }
-
-            CHGroupMember member = new CHGroupMember();
-            member.setGroup(group);
-            member.setUser(user);
-            memberRepository.save(member);
+            groupService.memberAdded(groupId, userId);
             log.debug("Member added successfully");
 
             return convertToDTO(group);
@@ -156,7 +153,7 @@ public class CHGroupService {
                 throw new UnauthorizedException("Only group admin can view members");
             }
 
-            List<UserDTO> members = group.getMembers().stream()
+            List<UserDTO> members = memberRepository.findWithUserByGroupId(groupId).stream()
                     .map(member -> userService.convertToDTO(member.getUser()))
                     .collect(Collectors.toList());
             
@@ -191,19 +188,12 @@ public class CHGroupService {
                 throw new ResourceNotFoundException("User not found");
             }
 
-            // Check if user is already a member
-            boolean isAlreadyMember = group.getMembers().stream()
-                    .anyMatch(m -> m.getUser().getUserId().equals(member.getUserId()));
-            if (isAlreadyMember) {
+            // Insert directly instead of loading the member set; 0 rows means already a member
+            if (memberRepository.insertIfAbsent(groupId, member.getUserId(), LocalDateTime.now()) == 0) {
                 log.error("User {} is already a member of group {}", memberEmail, groupId);
                 throw new IllegalArgumentException("User is already a member of this group");
             }
-
-            CHGroupMember groupMember = new CHGroupMember();
-            groupMember.setGroup(group);
-            groupMember.setUser(member);
-            group.getMembers().add(groupMember);
-            groupRepository.save(group);
+            groupService.memberAdded(groupId, member.getUserId());
             
             log.debug("Member {} added successfully to group {}", memberEmail, groupId);
         } catch (Exception e) {
@@ -235,15 +225,13 @@ public class CHGroupService {
                 throw new IllegalArgumentException("Cannot remove group admin");
             }
 
-            boolean removed = group.getMembers().removeIf(member -> 
-                member.getUser().getUserId().equals(memberId));
-            
-            if (!removed) {
+            if (memberRepository.deleteByGroupIdAndUserId(groupId, memberId) == 0) {
                 log.error("Member {} not found in group {}", memberId, groupId);
                 throw new ResourceNotFoundException("Member not found in group");
             }
 
-            groupRepository.save(group);
+            groupService.memberRemoved(groupId, memberId);
+            groupChatBroadcaster.memberRemoved(groupId, memberId);
             log.debug("Member {} removed successfully from group {}", memberId, groupId);
         } catch (Exception e) {
             log.error("Error removing member from group", e);
@@ -268,7 +256,7 @@ public class CHGroupService {
         dto.setAdminId(group.getAdmin().getUserId());
         dto.setAdminName(group.getAdmin().getUsername());
         dto.setCreatedAt(group.getCreatedAt());
-        dto.setMemberCount(group.getMembers().size());
+        dto.setMemberCount((int) memberRepository.countByGroupId(group.getId()));
         return dto;
     }
 } 
\ No newline at end of file
@@ -1,10 +1,10 @@
 package com.aspira.backend.service;
 
 import com.aspira.backend.dto.CommentDTO;
-import com.aspira.backend.dto.NotificationDTO;
 import com.aspira.backend.exception.ResourceNotFoundException;
 import com.aspira.backend.exception.UnauthorizedException;
 import com.aspira.backend.model.Comment;
+import com.aspira.backend.model.NotificationEventType;
 import com.aspira.backend.model.Post;
 import com.aspira.backend.model.User;
 import com.aspira.backend.repository.CommentRepository;
@@ -25,7 +25,9 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final RankingService rankingService;
+    private final EngagementCounterService engagementCounterService;
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Transactional
@@ -42,14 +44,12 @@ public class CommentService {
         comment.setUser(user);
 
         Comment savedComment = commentRepository.save(comment);
+        engagementCounterService.commentAdded(post.getPostId());
+        rankingService.markDirty(post.getPostId());
         // Create notification for the owner of the post
         if (!post.getUser().getUserId().equals(user.getUserId())) { // Avoid notifying self
-            NotificationDTO notificationDTO = new NotificationDTO();
-            notificationDTO.setUserId(post.getUser().getUserId());
-            notificationDTO.setMessage(user.getUsername() + " has commented on your post.");
-            notificationDTO.setPostId(post.getPostId());
-            notificationDTO.setCommentId(savedComment.getCommentId());
-            notificationService.createNotification(notificationDTO);
+            notificationOutboxService.enqueue(NotificationEventType.COMMENT_CREATED, post.getUser().getUserId(), user,
+                    user.getUsername() + " has commented on your post.", post.getPostId(), savedComment.getCommentId());
         }
         return convertToDTO(savedComment);
     }
@@ -79,13 +79,14 @@ public class CommentService {
 
         // Delete the comment
         commentRepository.deleteById(commentId);
+        engagementCounterService.commentRemoved(post.getPostId());
+        rankingService.markDirty(post.getPostId());
 
         // Create notification for the owner of the post
         if (!post.getUser().getUserId().equals(userId)) { // Avoid notifying self
-            NotificationDTO notificationDTO = new NotificationDTO();
-            notificationDTO.setUserId(post.getUser().getUserId());
-            notificationDTO.setMessage(comment.getUser().getUsername() + " has deleted their comment on your post.");
-            notificationService.createNotification(notificationDTO);
+            notificationOutboxService.enqueue(NotificationEventType.COMMENT_DELETED, post.getUser().getUserId(),
+                    comment.getUser(), comment.getUser().getUsername() + " has deleted their comment on your post.",
+                    null, null);
         }
     }
 
@@ -0,0 +1,154 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Write-behind aggregation for the Post.reactionCount / Post.commentCount counters.
+// Deltas are merged per post in ConcurrentHashMaps (per-bin locking keeps writers on
+// different posts from contending) and flushed to the posts table in one JDBC batch.
+// Deltas are recorded only after the originating transaction commits.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EngagementCounterService {
+
+    private static final String FLUSH_SQL =
+            "UPDATE posts SET reaction_count = reaction_count + ?, comment_count = comment_count + ? WHERE post_id = ?";
+
+    // Rebuilds both counters from the child tables to correct any drift
+    private static final String RECONCILE_SQL = "UPDATE posts p SET "
+            + "reaction_count = (SELECT COUNT(*) FROM reactions r WHERE r.post_id = p.post_id), "
+            + "comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.post_id)";
+
+    // Takes back deltas the recount already includes; they are still flushed later
+    private static final String UNDO_PENDING_SQL =
+            "UPDATE posts SET reaction_count = reaction_count - ?, comment_count = comment_count - ? WHERE post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Long> reactionDeltas = new ConcurrentHashMap<>();
+    private final Map<Long, Long> commentDeltas = new ConcurrentHashMap<>();
+
+    @Value("${engagement.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    public void reactionAdded(Long postId) {
+        AfterCommit.run(() -> reactionDeltas.merge(postId, 1L, Long::sum));
+    }
+
+    public void reactionRemoved(Long postId) {
+        AfterCommit.run(() -> reactionDeltas.merge(postId, -1L, Long::sum));
+    }
+
+    public void commentAdded(Long postId) {
+        AfterCommit.run(() -> commentDeltas.merge(postId, 1L, Long::sum));
+    }
+
+    public void commentRemoved(Long postId) {
+        AfterCommit.run(() -> commentDeltas.merge(postId, -1L, Long::sum));
+    }
+
+    // Not-yet-flushed deltas, so reads can show up-to-date counts
+    public long getPendingReactionDelta(Long postId) {
+        return reactionDeltas.getOrDefault(postId, 0L);
+    }
+
+    public long getPendingCommentDelta(Long postId) {
+        return commentDeltas.getOrDefault(postId, 0L);
+    }
+
+    // Flush pending deltas to the database in a single batch
+    @Scheduled(fixedDelayString = "${engagement.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Set<Long> postIds = new HashSet<>(reactionDeltas.keySet());
+        postIds.addAll(commentDeltas.keySet());
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            // remove() is atomic per key, so concurrent merges land in the next flush
+            Long reactions = reactionDeltas.remove(postId);
+            Long comments = commentDeltas.remove(postId);
+            long reactionDelta = reactions != null ? reactions : 0L;
+            long commentDelta = comments != null ? comments : 0L;
+            if (reactionDelta != 0 || commentDelta != 0) {
+                batch.add(new Object[] { reactionDelta, commentDelta, postId });
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed engagement counters for {} posts", batch.size());
+        } catch (RuntimeException e) {
+            // Put the deltas back so they are retried on the next flush
+            for (Object[] row : batch) {
+                Long postId = (Long) row[2];
+                reactionDeltas.merge(postId, (Long) row[0], Long::sum);
+                commentDeltas.merge(postId, (Long) row[1], Long::sum);
+            }
+            log.error("Failed to flush engagement counters, will retry", e);
+        }
+    }
+
+    // Nightly drift correction against the reactions and comments tables
+    @Scheduled(cron = "${engagement.reconcile-cron:0 30 3 * * *}")
+    // Deltas merged after flush() belong to rows that committed before the recount read the
+    // child tables, so the recount already includes them while they stay pending here. Each
+    // post is set to child_count - pending_delta in the same transaction; the pending delta
+    // then arrives with the next flush. Only a row that commits between the pending snapshot
+    // and the start of the recount statement can still be counted twice.
+    public synchronized void reconcile() {
+        flush();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> pending = pendingDeltas();
+            int updated = jdbcTemplate.update(RECONCILE_SQL);
+            if (!pending.isEmpty()) {
+                jdbcTemplate.batchUpdate(UNDO_PENDING_SQL, pending);
+            }
+            log.info("Reconciled engagement counters for {} posts ({} with pending deltas)", updated, pending.size());
+        });
+    }
+
+    private List<Object[]> pendingDeltas() {
+        Set<Long> postIds = new HashSet<>(reactionDeltas.keySet());
+        postIds.addAll(commentDeltas.keySet());
+        List<Object[]> rows = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            long reactionDelta = reactionDeltas.getOrDefault(postId, 0L);
+            long commentDelta = commentDeltas.getOrDefault(postId, 0L);
+            if (reactionDelta != 0 || commentDelta != 0) {
+                rows.add(new Object[] { reactionDelta, commentDelta, postId });
+            }
+        }
+        return rows;
+    }
+
+    // Backfills the counters for posts created before they existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.dto.GroupChatEventDTO;
+import com.aspira.backend.dto.GroupMessageDTO;
+import com.aspira.backend.security.AuthenticatedUser;
+import com.aspira.backend.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSubscription;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+// Broadcasts group chat changes to /topic/groups/{groupId} once the change is committed,
+// so subscribers receive deltas instead of re-reading the conversation
+@Service
+@RequiredArgsConstructor
+public class GroupChatBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+
+    public void messageCreated(GroupMessageDTO message) {
+        broadcast(message.getGroupId(), new GroupChatEventDTO(GroupChatEventDTO.CREATED, message.getId(), message));
+    }
+
+    public void messageUpdated(GroupMessageDTO message) {
+        broadcast(message.getGroupId(), new GroupChatEventDTO(GroupChatEventDTO.UPDATED, message.getId(), message));
+    }
+
+    public void messageDeleted(Long groupId, Long messageId) {
+        broadcast(groupId, new GroupChatEventDTO(GroupChatEventDTO.DELETED, messageId, null));
+    }
+
+    // Drop a removed member's subscriptions to the group topic after commit, so they stop
+    // receiving messages without having to reconnect. Only sessions connected to this node
+    // are known here; elsewhere the next SUBSCRIBE fails the membership check.
+    public void memberRemoved(Long groupId, Long userId) {
+        String destination = topic(groupId);
+        AfterCommit.run(() -> {
+            Set<SimpSubscription> subscriptions = userRegistry.findSubscriptions(subscription ->
+                    destination.equals(subscription.getDestination()) && isUser(subscription, userId));
+            for (SimpSubscription subscription : subscriptions) {
+                SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+                accessor.setSessionId(subscription.getSession().getId());
+                accessor.setSubscriptionId(subscription.getId());
+                Message<byte[]> unsubscribe = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+                messagingTemplate.getMessageChannel().send(unsubscribe);
+            }
+        });
+    }
+
+    private static boolean isUser(SimpSubscription subscription, Long userId) {
+        AuthenticatedUser user = AuthenticatedUser.from(subscription.getSession().getUser().getPrincipal());
+        return user != null && userId.equals(user.getUserId());
+    }
+
+    private static String topic(Long groupId) {
+        return "/topic/groups/" + groupId;
+    }
+
+    private void broadcast(Long groupId, GroupChatEventDTO event) {
+        Runnable send = () -> messagingTemplate.convertAndSend(topic(groupId), event);
+        AfterCommit.run(send);
+    }
+}
@@ -1,6 +1,7 @@
 package com.aspira.backend.service;
 
 import com.aspira.backend.dto.GroupMessageDTO;
+import com.aspira.backend.dto.GroupMessagePageDTO;
 import com.aspira.backend.exception.ResourceNotFoundException;
 import com.aspira.backend.model.CHGroup;
 import com.aspira.backend.model.GroupMessage;
@@ -9,10 +10,13 @@ import com.aspira.backend.repository.CHGroupRepository;
 import com.aspira.backend.repository.GroupMessageRepository;
 import com.aspira.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +27,13 @@ public class GroupMessageService {
     private final GroupMessageRepository messageRepository;
     private final CHGroupRepository groupRepository;
     private final UserRepository userRepository;
+    private final GroupChatBroadcaster groupChatBroadcaster;
+    private final RecentMessageCache recentMessageCache;
+    private final GroupService groupService;
+
+    // Page size limits for the paginated history
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Transactional
     public GroupMessageDTO sendMessage(Long groupId, Long userId, String content) {
@@ -35,22 +46,17 @@ public class GroupMessageService {
             message.setContent(content);
             message.setSentAt(LocalDateTime.now());
 
-            // Determine sender type
-            String senderType = group.getMembers().stream()
-                    .anyMatch(member -> member.getUserId().equals(userId))
-                    ? "GROUP_MEMBER" : "USER";
+            // Determine sender type from the membership index instead of loading the member set
+            String senderType = groupService.isUserMemberOfGroup(groupId, userId) ? "GROUP_MEMBER" : "USER";
 
             GroupMessage savedMessage = messageRepository.save(message);
 
-            return GroupMessageDTO.builder()
-                    .id(savedMessage.getId())
-                    .groupId(savedMessage.getGroup().getId())
-                    .senderId(savedMessage.getSender().getId())
-                    .senderName(savedMessage.getSender().getName())
-                    .content(savedMessage.getContent())
-                    .sentAt(savedMessage.getSentAt())
-                    .senderType(senderType)
-                    .build();
+            // Same mapping as pages and cache reloads, so a message looks the same wherever it comes from
+            GroupMessageDTO savedDTO = convertToDTO(savedMessage);
+            savedDTO.setSenderType(senderType);
+            recentMessageCache.messageSent(savedDTO);
+            groupChatBroadcaster.messageCreated(savedDTO);
+            return savedDTO;
         } catch (Exception e) {
             throw new RuntimeException("Error sending message", e);
         }
@@ -63,6 +69,53 @@ public class GroupMessageService {
                 .collect(Collectors.toList());
     }
 
+    // Messages before or after a message id (at most one of them), or the latest messages when neither is given.
+    // Pages are always returned oldest first; the latest page is usually served from the recent-message cache.
+    @Transactional(readOnly = true)
+    public GroupMessagePageDTO getMessagesPage(Long groupId, Long beforeId, Long afterId, Integer limit) {
+        if (beforeId != null && afterId != null) {
+            throw new IllegalArgumentException("Use either before or after, not both");
+        }
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // Fetch one extra row so we can tell whether another page exists
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+
+        if (afterId != null) {
+            List<GroupMessage> newer = messageRepository.findAfter(groupId, afterId, pageRequest);
+            boolean hasMore = newer.size() > pageSize;
+            return new GroupMessagePageDTO(toDTOs(hasMore ? newer.subList(0, pageSize) : newer), hasMore);
+        }
+        if (beforeId != null) {
+            return newestFirstToPage(messageRepository.findBefore(groupId, beforeId, pageRequest), pageSize);
+        }
+
+        GroupMessagePageDTO cached = recentMessageCache.getLatest(groupId, pageSize);
+        if (cached == null && pageSize <= recentMessageCache.getCapacity()) {
+            int loadSize = recentMessageCache.getCapacity() + 1;
+            recentMessageCache.load(groupId, () -> newestFirstToPage(
+                    messageRepository.findLatest(groupId, PageRequest.of(0, loadSize)), loadSize).getMessages());
+            cached = recentMessageCache.getLatest(groupId, pageSize);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        return newestFirstToPage(messageRepository.findLatest(groupId, pageRequest), pageSize);
+    }
+
+    // Trim a newest-first result to the page size and flip it to oldest first
+    private GroupMessagePageDTO newestFirstToPage(List<GroupMessage> newestFirst, int pageSize) {
+        boolean hasMore = newestFirst.size() > pageSize;
+        List<GroupMessage> page = new ArrayList<>(hasMore ? newestFirst.subList(0, pageSize) : newestFirst);
+        Collections.reverse(page);
+        return new GroupMessagePageDTO(toDTOs(page), hasMore);
+    }
+
+    private List<GroupMessageDTO> toDTOs(List<GroupMessage> messages) {
+        return messages.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     private GroupMessageDTO convertToDTO(GroupMessage message) {
         try {
             GroupMessageDTO dto = new GroupMessageDTO();
@@ -90,7 +143,10 @@ public class GroupMessageService {
         message.setContent(newContent);
         GroupMessage updatedMessage = messageRepository.save(message);
 
-        return convertToDTO(updatedMessage);
+        GroupMessageDTO updatedDTO = convertToDTO(updatedMessage);
+        recentMessageCache.messageEdited(updatedDTO);
+        groupChatBroadcaster.messageUpdated(updatedDTO);
+        return updatedDTO;
     }
 
     @Transactional
@@ -103,5 +159,7 @@ public class GroupMessageService {
         }
 
         messageRepository.delete(message);
+        recentMessageCache.messageDeleted(groupId, messageId);
+        groupChatBroadcaster.messageDeleted(groupId, messageId);
     }
 }
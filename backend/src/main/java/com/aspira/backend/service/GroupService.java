@@ -1,13 +1,69 @@
 package com.aspira.backend.service;
 
+import com.aspira.backend.repository.CHGroupMemberRepository;
+import com.aspira.backend.util.AfterCommit;
+import com.aspira.backend.util.GuardedCache;
+import com.aspira.backend.util.LongHashSet;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+// Group membership index: a compact set of member user IDs per group.
+// Sets are loaded lazily with one id-only query; CHGroupService applies member adds and
+// removes after commit, and GuardedCache discards a load that raced with one of them.
+// Changes made on another node are not seen here, so sets are reloaded once they are
+// older than the TTL.
 @Service
+@RequiredArgsConstructor
 public class GroupService {
 
+    private final CHGroupMemberRepository memberRepository;
+
+    @Value("${groups.membership-cache-groups:10000}")
+    private int maxGroups;
+
+    @Value("${groups.membership-cache-ttl-ms:60000}")
+    private long ttlMillis;
+
+    private GuardedCache<Long, LongHashSet> index;
+
+    @PostConstruct
+    void initIndex() {
+        index = new GuardedCache<>(maxGroups, ttlMillis);
+    }
+
     public boolean isUserMemberOfGroup(Long groupId, Long userId) {
-        // Placeholder logic for checking if a user is a member of a group
-        // Replace with actual implementation
-        return true;
+        LongHashSet members = index.get(groupId);
+        if (members == null) {
+            members = index.load(groupId, () -> loadMembers(groupId));
+        }
+        synchronized (members) {
+            return members.contains(userId);
+        }
+    }
+
+    public void memberAdded(Long groupId, Long userId) {
+        afterCommit(groupId, members -> members.add(userId));
+    }
+
+    public void memberRemoved(Long groupId, Long userId) {
+        afterCommit(groupId, members -> members.remove(userId));
+    }
+
+    private LongHashSet loadMembers(Long groupId) {
+        List<Long> userIds = memberRepository.findUserIdsByGroupId(groupId);
+        LongHashSet members = new LongHashSet(userIds.size());
+        for (Long userId : userIds) {
+            members.add(userId);
+        }
+        return members;
+    }
+
+    private void afterCommit(Long groupId, Consumer<LongHashSet> change) {
+        AfterCommit.run(() -> index.update(groupId, change));
     }
 }
@@ -0,0 +1,133 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.model.Hashtag;
+import com.aspira.backend.repository.HashtagRepository;
+import com.aspira.backend.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Hashtag interning: resolves tag names to ids through a bounded LRU cache, one
+// batched lookup for cache misses and one bulk INSERT ... ON CONFLICT DO NOTHING for
+// new tags, so the number of round trips does not depend on how many tags a post has.
+@Service
+@RequiredArgsConstructor
+public class HashtagService {
+
+    private static final String DELETE_POST_TAGS_SQL = "DELETE FROM post_hashtags WHERE post_id = ?";
+    private static final String INSERT_POST_TAG_SQL = "INSERT INTO post_hashtags (post_id, hashtag_id) VALUES (?, ?)";
+
+    private final HashtagRepository hashtagRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${hashtag.cache-size:10000}")
+    private int cacheSize;
+
+    private Map<String, Long> idCache;
+
+    @PostConstruct
+    void initCache() {
+        // Access-ordered LinkedHashMap evicting the least recently used name
+        idCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    // Resolve tag names to hashtag ids, creating the missing tags
+    @Transactional
+    public Map<String, Long> resolveIds(Set<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        if (names.isEmpty()) {
+            return ids;
+        }
+
+        Set<String> misses = new LinkedHashSet<>();
+        for (String name : names) {
+            Long id = idCache.get(name);
+            if (id != null) {
+                ids.put(name, id);
+            } else {
+                misses.add(name);
+            }
+        }
+        if (misses.isEmpty()) {
+            return ids;
+        }
+
+        loadInto(misses, ids, true);
+        misses.removeAll(ids.keySet());
+        if (!misses.isEmpty()) {
+            bulkInsert(misses);
+            // Covers both our inserts and rows a concurrent request inserted first
+            Map<String, Long> created = new HashMap<>();
+            loadInto(misses, created, false);
+            ids.putAll(created);
+            // Only cache new ids once they are committed, so a rollback cannot leave dangling ids
+            cacheAfterCommit(created);
+        }
+        return ids;
+    }
+
+    // Replace the join rows of a post with the given hashtags in one batch
+    @Transactional
+    public void setPostHashtags(Long postId, Collection<Long> hashtagIds, boolean newPost) {
+        if (!newPost) {
+            jdbcTemplate.update(DELETE_POST_TAGS_SQL, postId);
+        }
+        if (hashtagIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(hashtagIds.size());
+        for (Long hashtagId : hashtagIds) {
+            rows.add(new Object[] { postId, hashtagId });
+        }
+        jdbcTemplate.batchUpdate(INSERT_POST_TAG_SQL, rows);
+    }
+
+    private void loadInto(Set<String> names, Map<String, Long> ids, boolean cacheNow) {
+        for (Hashtag hashtag : hashtagRepository.findByNameIn(names)) {
+            ids.put(hashtag.getName(), hashtag.getHashtagId());
+            if (cacheNow) {
+                idCache.put(hashtag.getName(), hashtag.getHashtagId());
+            }
+        }
+    }
+
+    private void cacheAfterCommit(Map<String, Long> ids) {
+        AfterCommit.run(() -> idCache.putAll(ids));
+    }
+
+    private void bulkInsert(Set<String> names) {
+        StringBuilder sql = new StringBuilder("INSERT INTO hashtags (name, created_at) VALUES ");
+        List<Object> args = new ArrayList<>(names.size() * 2);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (String name : names) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append("(?, ?)");
+            args.add(name);
+            args.add(now);
+        }
+        sql.append(" ON CONFLICT (name) DO NOTHING");
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -0,0 +1,76 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.dto.PostDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// In-memory top-K leaderboard of posts by rank score.
+// The board is an immutable sorted snapshot swapped atomically on refresh, so
+// readers never lock and never hit the database; each read is O(K).
+// RankingScheduler reloads it after every ranking run and every minute in between, so
+// the counts in the snapshot are at most leaderboard.refresh-ms old. PostService
+// applies edits and deletes on this node as soon as they commit.
+@Service
+@Slf4j
+public class LeaderboardService {
+
+    @Value("${leaderboard.capacity:100}")
+    private int capacity;
+
+    private volatile List<PostDTO> board = List.of();
+
+    // Number of posts the board holds
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Swap in a freshly loaded top K, highest rank score first
+    public void replace(List<PostDTO> topPosts) {
+        synchronized (this) {
+            board = List.copyOf(topPosts);
+        }
+        log.debug("Leaderboard refreshed with {} posts", topPosts.size());
+    }
+
+    // Top posts, highest rank score first
+    public List<PostDTO> getTop(int limit) {
+        List<PostDTO> snapshot = board;
+        int size = Math.min(Math.max(limit, 0), snapshot.size());
+        return new ArrayList<>(snapshot.subList(0, size));
+    }
+
+    public List<PostDTO> getAll() {
+        return new ArrayList<>(board);
+    }
+
+    // Replace a post's entry after it was edited, keeping its position
+    public synchronized void update(PostDTO post) {
+        List<PostDTO> snapshot = board;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.get(i).getPostId().equals(post.getPostId())) {
+                List<PostDTO> next = new ArrayList<>(snapshot);
+                next.set(i, post);
+                board = List.copyOf(next);
+                return;
+            }
+        }
+    }
+
+    // Drop a deleted post from the board
+    public synchronized void evict(Long postId) {
+        List<PostDTO> snapshot = board;
+        List<PostDTO> next = new ArrayList<>(snapshot.size());
+        for (PostDTO post : snapshot) {
+            if (!post.getPostId().equals(postId)) {
+                next.add(post);
+            }
+        }
+        if (next.size() != snapshot.size()) {
+            board = List.copyOf(next);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.aspira.backend.model.Post;
 import com.aspira.backend.repository.MediaRepository;
 import com.aspira.backend.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,11 +20,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class MediaService {
 
     private final MediaRepository mediaRepository;
@@ -66,6 +70,16 @@ public class MediaService {
                 .collect(Collectors.toList());
     }
 
+    // Load media for a whole page of posts in one query, grouped by post ID
+    public Map<Long, List<MediaDTO>> getMediaByPostIds(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return mediaRepository.findByPostPostIdIn(postIds).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.groupingBy(MediaDTO::getPostId));
+    }
+
     @Transactional
     public void deleteMedia(Long mediaId, Long userId) throws IOException {
         Media media = mediaRepository.findById(mediaId)
@@ -84,9 +98,9 @@ public class MediaService {
                 throw new SecurityException("Attempted to access file outside of upload directory.");
             }
             Files.deleteIfExists(filePath);
-            System.out.println("Successfully deleted media file: " + filePath.toString());
+            log.debug("Deleted media file {}", filePath);
         } catch (IOException e) {
-            System.err.println("Error deleting media file: " + media.getMediaUrl() + " - " + e.getMessage());
+            log.warn("Error deleting media file {}: {}", media.getMediaUrl(), e.getMessage());
             // Decide if this error should prevent DB deletion. For now, we'll proceed.
         }
 
@@ -96,13 +110,11 @@ public class MediaService {
     private MediaDTO convertToDTO(Media media) {
         MediaDTO dto = new MediaDTO();
         dto.setMediaId(media.getMediaId());
-        
-        System.out.println("MediaService.convertToDTO: Filename from DB (media.getMediaUrl()): " + media.getMediaUrl());
+
         String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/api/media/files/")
                 .path(media.getMediaUrl())
                 .toUriString();
-        System.out.println("MediaService.convertToDTO: Constructed fileDownloadUri: " + fileDownloadUri);
         dto.setMediaUrl(fileDownloadUri);
         
         dto.setMediaType(media.getMediaType().name());
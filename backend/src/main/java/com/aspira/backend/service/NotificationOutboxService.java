@@ -0,0 +1,158 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.dto.NotificationDTO;
+import com.aspira.backend.model.NotificationEventType;
+import com.aspira.backend.model.NotificationOutbox;
+import com.aspira.backend.model.User;
+import com.aspira.backend.repository.NotificationOutboxRepository;
+import com.aspira.backend.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Transactional outbox for notifications.
+// Comment and reaction writes only insert an outbox row in their own transaction.
+// A background drainer on a virtual thread claims pending rows in batches
+// (FOR UPDATE SKIP LOCKED, so several nodes can drain safely), creates the
+// notifications, deletes the rows in the same transaction and then hands the
+// notifications to the push channel.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean signalled = new AtomicBoolean();
+
+    @Value("${notifications.outbox-batch-size:100}")
+    private int batchSize;
+
+    @Value("${notifications.outbox-max-attempts:5}")
+    private int maxAttempts;
+
+    // Record a notification for the recipient; must be called inside the originating transaction
+    public void enqueue(NotificationEventType eventType, Long recipientId, User actor, String message,
+            Long postId, Long commentId) {
+        NotificationOutbox event = new NotificationOutbox();
+        event.setEventType(eventType);
+        event.setRecipientId(recipientId);
+        event.setActorId(actor.getUserId());
+        event.setActorName(actor.getUsername());
+        event.setMessage(message);
+        event.setPostId(postId);
+        event.setCommentId(commentId);
+        outboxRepository.save(event);
+
+        AfterCommit.run(this::wakeUp);
+    }
+
+    // Safety net for rows left behind by a crash, a failed batch or another node
+    @Scheduled(fixedDelayString = "${notifications.outbox-poll-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    // Start a drainer unless one is already running; a running drainer picks up the signal
+    public void wakeUp() {
+        signalled.set(true);
+        if (draining.compareAndSet(false, true)) {
+            workers.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private void drain() {
+        try {
+            while (signalled.getAndSet(false)) {
+                while (dispatchBatch() >= batchSize) {
+                    // Keep going while full batches come back
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Notification outbox drain failed", e);
+        } finally {
+            draining.set(false);
+            // A signal that arrived after the last check would otherwise wait for the next poll
+            if (signalled.get() && draining.compareAndSet(false, true)) {
+                workers.execute(this::drain);
+            }
+        }
+    }
+
+    // Dispatch one batch; returns the number of rows claimed
+    private int dispatchBatch() {
+        List<NotificationDTO> created = new ArrayList<>();
+        List<Long> claimedIds = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<NotificationOutbox> events = outboxRepository.claimBatch(batchSize);
+                events.forEach(event -> claimedIds.add(event.getOutboxId()));
+                if (!events.isEmpty()) {
+                    created.addAll(notificationService.createFromOutbox(events));
+                    outboxRepository.deleteAllInBatch(events);
+                }
+            });
+        } catch (RuntimeException e) {
+            // One bad row must not block the rest of the batch: retry the rows one at a time
+            log.warn("Notification outbox batch failed, retrying {} events individually", claimedIds.size(), e);
+            created.clear();
+            for (Long outboxId : claimedIds) {
+                dispatchOne(outboxId, created);
+            }
+        }
+        push(created);
+        return claimedIds.size();
+    }
+
+    private void dispatchOne(Long outboxId, List<NotificationDTO> created) {
+        List<NotificationDTO> single = new ArrayList<>(1);
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.claimById(outboxId)
+                    .ifPresent(event -> {
+                        single.addAll(notificationService.createFromOutbox(List.of(event)));
+                        outboxRepository.delete(event);
+                    }));
+            created.addAll(single);
+        } catch (RuntimeException e) {
+            recordFailure(outboxId, e);
+        }
+    }
+
+    private void recordFailure(Long outboxId, RuntimeException cause) {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.claimById(outboxId).ifPresent(event -> {
+            if (event.getAttempts() + 1 >= maxAttempts) {
+                outboxRepository.delete(event);
+                log.error("Dropping notification outbox event {} after {} attempts", outboxId, maxAttempts, cause);
+            } else {
+                outboxRepository.incrementAttempts(outboxId);
+                log.warn("Notification outbox event {} failed: {}", outboxId, cause.getMessage());
+            }
+        }));
+    }
+
+    private void push(List<NotificationDTO> notifications) {
+        for (NotificationDTO notification : notifications) {
+            workers.execute(() -> notificationStreamService.publish(notification));
+        }
+    }
+}
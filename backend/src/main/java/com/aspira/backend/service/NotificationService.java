@@ -1,17 +1,34 @@
 package com.aspira.backend.service;
 
 import com.aspira.backend.dto.NotificationDTO;
+import com.aspira.backend.dto.NotificationPageDTO;
 import com.aspira.backend.exception.ResourceNotFoundException;
 import com.aspira.backend.model.Notification;
+import com.aspira.backend.model.NotificationEventType;
+import com.aspira.backend.model.NotificationOutbox;
 import com.aspira.backend.model.User;
+import com.aspira.backend.repository.NotificationActorRepository;
 import com.aspira.backend.repository.NotificationRepository;
 import com.aspira.backend.repository.UserRepository;
+import com.aspira.backend.util.FeedCursor;
+import com.aspira.backend.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,7 +36,22 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationActorRepository notificationActorRepository;
     private final UserRepository userRepository;
+    private final NotificationStreamService notificationStreamService;
+    private final UnreadCountService unreadCountService;
+
+    @Value("${notifications.sse-replay-limit:100}")
+    private int replayLimit;
+
+    @Value("${notifications.coalesce-window-minutes:60}")
+    private long coalesceWindowMinutes;
+
+    @Value("${notifications.coalesce-latest-actors:3}")
+    private int maxLatestActors;
+
+    // Arbitrary key of the advisory lock that keeps the retention job to one node at a time
+    private static final long RETENTION_LOCK_KEY = 0x6e6f746966L;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -34,11 +66,55 @@ public NotificationDTO createNotification(NotificationDTO notificationDTO) {
     notification.setIsRead(false);
     notification.setPostId(notificationDTO.getPostId());
     notification.setCommentId(notificationDTO.getCommentId());
+    notification.setLastActivityAt(LocalDateTime.now());
 
     Notification savedNotification = notificationRepository.save(notification);
-    return convertToDTO(savedNotification);
+    unreadCountService.adjust(user.getUserId(), 1);
+    NotificationDTO savedDTO = convertToDTO(savedNotification);
+    notificationStreamService.publish(savedDTO);
+    return savedDTO;
 }
 
+    // Create notifications for drained outbox events; recipients are referenced by id without loading them.
+    // Events with the same (recipient, post, event type) are merged into one unread aggregate
+    // notification while it is younger than the coalescing window. Existing aggregates are
+    // row-locked until commit, and distinct actors are tracked in notification_actors.
+    @Transactional
+    public List<NotificationDTO> createFromOutbox(List<NotificationOutbox> events) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<CoalesceKey, Notification> aggregates = findCoalesceTargets(events, now.minusMinutes(coalesceWindowMinutes));
+        Map<CoalesceKey, Notification> touched = new LinkedHashMap<>();
+        List<Notification> notifications = new ArrayList<>(events.size());
+        // Only new rows add to the unread count; merging into an unread aggregate does not
+        Map<Long, Long> newUnread = new HashMap<>();
+
+        for (NotificationOutbox event : events) {
+            CoalesceKey key = CoalesceKey.of(event);
+            if (key == null) {
+                notifications.add(newNotification(event, now));
+                newUnread.merge(event.getRecipientId(), 1L, Long::sum);
+                continue;
+            }
+            Notification aggregate = aggregates.get(key);
+            if (aggregate == null) {
+                // Saved right away so its id is available for the actor row
+                aggregate = notificationRepository.save(newNotification(event, now));
+                recordActor(aggregate, event);
+                aggregates.put(key, aggregate);
+                newUnread.merge(event.getRecipientId(), 1L, Long::sum);
+            } else {
+                addActor(aggregate, event, now);
+            }
+            touched.put(key, aggregate);
+        }
+        notifications.addAll(touched.values());
+        newUnread.forEach(unreadCountService::adjust);
+
+        return notificationRepository.saveAll(notifications).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     public List<NotificationDTO> getNotificationsByUserId(Long userId) {
         List<Notification> notifications = notificationRepository.findByUserUserId(userId);
         return notifications.stream()
@@ -46,21 +122,167 @@ public NotificationDTO createNotification(NotificationDTO notificationDTO) {
                 .collect(Collectors.toList());
     }
 
+    // get a page of a user's notifications, newest first
+    @Transactional(readOnly = true)
+    public NotificationPageDTO getNotificationsPage(Long userId, String cursor, Integer limit) {
+        int pageSize = KeysetPage.resolvePageSize(limit);
+        FeedCursor after = FeedCursor.decode(cursor);
+        List<Notification> notifications = after == null
+                ? notificationRepository.findUserFirstPage(userId, KeysetPage.pageRequestFor(pageSize))
+                : notificationRepository.findUserPageAfter(userId, after.createdAt(), after.id(),
+                        KeysetPage.pageRequestFor(pageSize));
+        KeysetPage<Notification> page = KeysetPage.of(notifications, pageSize,
+                notification -> new FeedCursor(notification.getCreatedAt(), notification.getNotificationId()));
+        List<NotificationDTO> dtos = page.items().stream().map(this::convertToDTO).collect(Collectors.toList());
+        return new NotificationPageDTO(dtos, page.nextCursor(), page.hasMore());
+    }
+
+    // Delete one batch of read notifications older than the cutoff; callers repeat while a full
+    // batch comes back. Returns 0 without deleting while another node holds the retention lock.
+    @Transactional
+    public int purgeReadNotifications(LocalDateTime cutoff, int batchSize) {
+        if (!notificationRepository.tryAdvisoryXactLock(RETENTION_LOCK_KEY)) {
+            return 0;
+        }
+        return notificationRepository.deleteReadBefore(cutoff, batchSize);
+    }
+
+    // Notifications created or merged into after the stream cursor, for Last-Event-ID replay.
+    // Ids alone are not enough: a coalesced notification keeps its id when new actors are merged
+    // into it, so the cursor follows lastActivityAt. Not read-only so it runs on the primary;
+    // a lagging replica would skip events the client never saw.
+    @Transactional
+    public List<NotificationDTO> getNotificationsAfter(Long userId, FeedCursor lastEvent) {
+        if (lastEvent == null) {
+            return List.of();
+        }
+        return notificationRepository
+                .findUserActivityAfter(userId, lastEvent.createdAt(), lastEvent.id(), PageRequest.of(0, replayLimit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     public void markAsRead(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found with id: " + notificationId));
 
+        if (!notification.getIsRead()) {
+            unreadCountService.adjust(notification.getUser().getUserId(), -1);
+        }
         notification.setIsRead(true);
         notificationRepository.save(notification);
     }
 
+    // Mark every unread notification of a user as read in a single UPDATE
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsRead(userId);
+        unreadCountService.reset(userId);
+        return updated;
+    }
+
+    public long getUnreadCount(Long userId) {
+        return unreadCountService.getUnreadCount(userId);
+    }
+
     @Transactional
     public void deleteNotification(Long notificationId) {
-        if (!notificationRepository.existsById(notificationId)) {
-            throw new ResourceNotFoundException("Notification not found with id: " + notificationId);
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification not found with id: " + notificationId));
+        if (!notification.getIsRead()) {
+            unreadCountService.adjust(notification.getUser().getUserId(), -1);
+        }
+        notificationRepository.delete(notification);
+    }
+
+    private record CoalesceKey(Long recipientId, Long postId, NotificationEventType eventType) {
+        static CoalesceKey of(NotificationOutbox event) {
+            if (!event.getEventType().isCoalesced() || event.getPostId() == null) {
+                return null;
+            }
+            return new CoalesceKey(event.getRecipientId(), event.getPostId(), event.getEventType());
+        }
+    }
+
+    private Map<CoalesceKey, Notification> findCoalesceTargets(List<NotificationOutbox> events, LocalDateTime since) {
+        Set<NotificationEventType> types = EnumSet.noneOf(NotificationEventType.class);
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> postIds = new HashSet<>();
+        for (NotificationOutbox event : events) {
+            if (CoalesceKey.of(event) != null) {
+                types.add(event.getEventType());
+                userIds.add(event.getRecipientId());
+                postIds.add(event.getPostId());
+            }
+        }
+        Map<CoalesceKey, Notification> targets = new HashMap<>();
+        if (types.isEmpty()) {
+            return targets;
+        }
+        for (Notification candidate : notificationRepository.findCoalesceCandidates(types, userIds, postIds, since)) {
+            CoalesceKey key = new CoalesceKey(candidate.getUser().getUserId(), candidate.getPostId(),
+                    candidate.getEventType());
+            // Keep the most recently active aggregate if several qualify
+            targets.merge(key, candidate, (a, b) -> a.getLastActivityAt().isAfter(b.getLastActivityAt()) ? a : b);
+        }
+        return targets;
+    }
+
+    private Notification newNotification(NotificationOutbox event, LocalDateTime now) {
+        Notification notification = new Notification();
+        notification.setUser(userRepository.getReferenceById(event.getRecipientId()));
+        notification.setMessage(event.getMessage());
+        notification.setIsRead(false);
+        notification.setPostId(event.getPostId());
+        notification.setCommentId(event.getCommentId());
+        notification.setEventType(event.getEventType());
+        notification.setActorCount(1);
+        notification.setLatestActors(event.getActorName());
+        notification.setLastActivityAt(now);
+        return notification;
+    }
+
+    private void addActor(Notification aggregate, NotificationOutbox event, LocalDateTime now) {
+        List<String> actors = splitActors(aggregate.getLatestActors());
+        boolean repeat = actors.remove(event.getActorName());
+        actors.add(0, event.getActorName());
+        if (actors.size() > maxLatestActors) {
+            actors = new ArrayList<>(actors.subList(0, maxLatestActors));
+        }
+        // The recent list is capped, so the actor table decides whether this user was already counted
+        boolean newActor = event.getActorId() != null ? recordActor(aggregate, event) : !repeat;
+        if (newActor) {
+            aggregate.setActorCount(aggregate.getActorCount() + 1);
+        }
+        aggregate.setLatestActors(String.join(",", actors));
+        aggregate.setMessage(aggregateMessage(event.getEventType(), event.getActorName(), aggregate.getActorCount()));
+        if (event.getCommentId() != null) {
+            aggregate.setCommentId(event.getCommentId());
+        }
+        aggregate.setLastActivityAt(now);
+    }
+
+    private boolean recordActor(Notification aggregate, NotificationOutbox event) {
+        return event.getActorId() != null
+                && notificationActorRepository.addActor(aggregate.getNotificationId(), event.getActorId()) > 0;
+    }
+
+    private String aggregateMessage(NotificationEventType eventType, String latestActor, int actorCount) {
+        int others = actorCount - 1;
+        if (others <= 0) {
+            return latestActor + " " + eventType.getAggregateAction();
         }
-        notificationRepository.deleteById(notificationId);
+        return latestActor + " and " + others + (others == 1 ? " other " : " others ") + eventType.getAggregateAction();
+    }
+
+    private static List<String> splitActors(String latestActors) {
+        List<String> actors = new ArrayList<>();
+        if (latestActors != null && !latestActors.isEmpty()) {
+            actors.addAll(Arrays.asList(latestActors.split(",")));
+        }
+        return actors;
     }
 
     private NotificationDTO convertToDTO(Notification notification) {
@@ -68,8 +290,16 @@ public NotificationDTO createNotification(NotificationDTO notificationDTO) {
         dto.setNotificationId(notification.getNotificationId());
         dto.setUserId(notification.getUser().getUserId());
         dto.setMessage(notification.getMessage());
+        dto.setPostId(notification.getPostId());
+        dto.setCommentId(notification.getCommentId());
         dto.setIsRead(notification.getIsRead());
+        dto.setEventType(notification.getEventType() != null ? notification.getEventType().name() : null);
+        dto.setActorCount(notification.getActorCount());
+        dto.setLatestActors(splitActors(notification.getLatestActors()));
         dto.setCreatedAt(notification.getCreatedAt().format(formatter));
+        if (notification.getLastActivityAt() != null) {
+            dto.setEventId(new FeedCursor(notification.getLastActivityAt(), notification.getNotificationId()).encode());
+        }
         return dto;
     }
 }
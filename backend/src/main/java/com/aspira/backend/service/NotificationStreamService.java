@@ -0,0 +1,154 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.dto.NotificationDTO;
+import com.aspira.backend.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Per-node registry of Server-Sent Events subscribers for notifications.
+// New notifications are pushed to the recipient's open streams once the creating
+// transaction commits. Event ids are (lastActivityAt, notificationId) cursors, so a
+// reconnecting client's Last-Event-ID tells us what to replay, including aggregates
+// that gained actors. Subscribers connected to another node do not see pushes from
+// this one; they catch up through replay on reconnect.
+@Service
+@Slf4j
+public class NotificationStreamService {
+
+    private static final String EVENT_NAME = "notification";
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    // Heartbeats are written off the scheduler thread, one virtual thread per stream, so a
+    // client with a full socket buffer blocks only its own send
+    private final ExecutorService heartbeatWorkers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<SseEmitter> heartbeatsInFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${notifications.sse-timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${notifications.sse-max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    // Open a stream for a user, first sending the notifications they missed.
+    // Beyond the per-user limit the user's oldest stream is closed.
+    public SseEmitter subscribe(Long userId, List<NotificationDTO> missed) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        List<SseEmitter> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> current = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            // CopyOnWriteArraySet iterates in insertion order, oldest first
+            for (SseEmitter existing : current) {
+                if (current.size() - evicted.size() < maxStreamsPerUser) {
+                    break;
+                }
+                evicted.add(existing);
+            }
+            current.removeAll(evicted);
+            current.add(emitter);
+            return current;
+        });
+        // Completed outside compute: completion callbacks remove from the same map entry
+        evicted.forEach(SseEmitter::complete);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        for (NotificationDTO notification : missed) {
+            if (!send(emitter, notification)) {
+                remove(userId, emitter);
+                break;
+            }
+        }
+        return emitter;
+    }
+
+    // Push a notification to the recipient's streams after the transaction commits
+    public void publish(NotificationDTO notification) {
+        AfterCommit.run(() -> deliver(notification));
+    }
+
+    public int getSubscriberCount() {
+        int count = 0;
+        for (Set<SseEmitter> emitters : subscribers.values()) {
+            count += emitters.size();
+        }
+        return count;
+    }
+
+    // Keeps idle connections open through proxies and detects dead clients.
+    // A stream whose previous heartbeat is still blocked is skipped rather than queued again.
+    @Scheduled(fixedDelayString = "${notifications.sse-heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                if (heartbeatsInFlight.add(emitter)) {
+                    heartbeatWorkers.execute(() -> sendHeartbeat(userId, emitter));
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeatWorkers.shutdownNow();
+    }
+
+    private void sendHeartbeat(Long userId, SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+        } finally {
+            heartbeatsInFlight.remove(emitter);
+        }
+    }
+
+    private void deliver(NotificationDTO notification) {
+        Set<SseEmitter> emitters = subscribers.get(notification.getUserId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (!send(emitter, notification)) {
+                remove(notification.getUserId(), emitter);
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, NotificationDTO notification) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(notification.getEventId())
+                    .name(EVENT_NAME)
+                    .data(notification));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.complete();
+    }
+}
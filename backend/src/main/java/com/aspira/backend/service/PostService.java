@@ -1,15 +1,18 @@
 package com.aspira.backend.service;
 
 import com.aspira.backend.dto.PostDTO;
+import com.aspira.backend.dto.PostPageDTO;
 import com.aspira.backend.dto.MediaDTO;
 import com.aspira.backend.exception.ResourceNotFoundException;
 import com.aspira.backend.exception.UnauthorizedException;
-import com.aspira.backend.model.Hashtag;
 import com.aspira.backend.model.Post;
 import com.aspira.backend.model.User;
-import com.aspira.backend.repository.HashtagRepository;
 import com.aspira.backend.repository.PostRepository;
 import com.aspira.backend.repository.UserRepository;
+import com.aspira.backend.util.AfterCommit;
+import com.aspira.backend.util.FeedCursor;
+import com.aspira.backend.util.HashtagTokenizer;
+import com.aspira.backend.util.KeysetPage;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,13 +26,14 @@ import jakarta.persistence.EntityManager;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.Set;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 
 @Service // Service annotation indicates that this class is a service component in the
          // Spring context
@@ -40,69 +44,96 @@ public class PostService {
 
     private final PostRepository postRepository;// Inject PostRepository for post management
     private final UserRepository userRepository;// Inject UserRepository for user management
-    private final HashtagRepository hashtagRepository;// Inject HashtagRepository for hashtag management
+    private final HashtagService hashtagService;// Inject HashtagService for hashtag interning
     private final EntityManager entityManager; // Inject EntityManager for Hibernate Search
     private final MediaService mediaService; // Inject MediaService
-
-    // Extract hashtags from the content using regex
-    // This method uses regex to find hashtags in the content string.
-    private Set<String> extractHashtags(String content) {
-        Pattern pattern = Pattern.compile("#(\\w+)");
-        Matcher matcher = pattern.matcher(content);
-        Set<String> tags = new HashSet<>();
-        while (matcher.find()) {
-            tags.add(matcher.group(1).toLowerCase());
-        }
-        return tags;
-    }
+    private final EngagementCounterService engagementCounterService; // Inject EngagementCounterService for pending counts
+    private final ViewTrackingService viewTrackingService; // Inject ViewTrackingService for buffered views
+    private final TrendingHashtagService trendingHashtagService; // Inject TrendingHashtagService for trending counts
+    private final LeaderboardService leaderboardService; // Inject LeaderboardService to keep the top-K snapshot current
 
     @Transactional
     // create post
     public PostDTO createPost(Long userId, PostDTO postDTO) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-        Set<String> tagNames = extractHashtags(postDTO.getContent());
-        Set<Hashtag> hashtags = new HashSet<>();
-        // hashtag repository find by name. if not found, create a new one and save it.
-        // then add it to the post
-        for (String tagName : tagNames) {
-            Hashtag hashtag = hashtagRepository.findByName(tagName)
-                    .orElseGet(() -> {
-                        Hashtag newTag = new Hashtag(tagName);
-                        return hashtagRepository.save(newTag);
-                    });
-            hashtags.add(hashtag);
-        }
         Post post = new Post();
         post.setCategory(postDTO.getCategory());
         post.setTitle(postDTO.getTitle());
         post.setContent(postDTO.getContent());
         post.setUser(user);
-        post.setHashtags(hashtags);
 
         Post savedPost = postRepository.save(post);
+
+        // resolve all hashtags in a fixed number of round trips and link them to the post
+        Set<String> tagNames = HashtagTokenizer.extract(postDTO.getContent());
+        Map<String, Long> hashtagIds = hashtagService.resolveIds(tagNames);
+        hashtagService.setPostHashtags(savedPost.getPostId(), hashtagIds.values(), true);
+        trendingHashtagService.recordTagsAfterCommit(tagNames);
+
         return convertToDTO(savedPost);
     }
 
     // get all posts
     public List<PostDTO> getAllPosts() {
-        return postRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(postRepository.findAll());
     }
 
     // get posts by category
     public List<PostDTO> getPostsByCategory(String category) {
-        return postRepository.findByCategoryIgnoreCase(category).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(postRepository.findByCategoryIgnoreCase(category));
     }
 
     // get posts for a specific user
     public List<PostDTO> getPostsByUserId(Long userId) {
-        return postRepository.findByUserUserId(userId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(postRepository.findByUserUserId(userId));
+    }
+
+    // get a page of the home feed, newest first
+    public PostPageDTO getFeedPage(String cursor, Integer limit) {
+        int pageSize = KeysetPage.resolvePageSize(limit);
+        FeedCursor after = FeedCursor.decode(cursor);
+        List<Post> posts = after == null
+                ? postRepository.findFeedFirstPage(KeysetPage.pageRequestFor(pageSize))
+                : postRepository.findFeedPageAfter(after.createdAt(), after.id(), KeysetPage.pageRequestFor(pageSize));
+        return toPage(posts, pageSize);
+    }
+
+    // get a page of posts in a category (case-insensitive), newest first
+    public PostPageDTO getPostsByCategoryPage(String category, String cursor, Integer limit) {
+        int pageSize = KeysetPage.resolvePageSize(limit);
+        FeedCursor after = FeedCursor.decode(cursor);
+        List<Post> posts = after == null
+                ? postRepository.findCategoryFirstPage(category, KeysetPage.pageRequestFor(pageSize))
+                : postRepository.findCategoryPageAfter(category, after.createdAt(), after.id(),
+                        KeysetPage.pageRequestFor(pageSize));
+        return toPage(posts, pageSize);
+    }
+
+    // get a page of posts for a specific user, newest first
+    public PostPageDTO getPostsByUserIdPage(Long userId, String cursor, Integer limit) {
+        int pageSize = KeysetPage.resolvePageSize(limit);
+        FeedCursor after = FeedCursor.decode(cursor);
+        List<Post> posts = after == null
+                ? postRepository.findUserFirstPage(userId, KeysetPage.pageRequestFor(pageSize))
+                : postRepository.findUserPageAfter(userId, after.createdAt(), after.id(), KeysetPage.pageRequestFor(pageSize));
+        return toPage(posts, pageSize);
+    }
+
+    // get a page of posts by hashtag, newest first
+    public PostPageDTO searchByHashtagPage(String hashtag, String cursor, Integer limit) {
+        int pageSize = KeysetPage.resolvePageSize(limit);
+        FeedCursor after = FeedCursor.decode(cursor);
+        String tag = hashtag.toLowerCase();
+        List<Post> posts = after == null
+                ? postRepository.findHashtagFirstPage(tag, KeysetPage.pageRequestFor(pageSize))
+                : postRepository.findHashtagPageAfter(tag, after.createdAt(), after.id(), KeysetPage.pageRequestFor(pageSize));
+        return toPage(posts, pageSize);
+    }
+
+    private PostPageDTO toPage(List<Post> posts, int pageSize) {
+        KeysetPage<Post> page = KeysetPage.of(posts, pageSize, post -> new FeedCursor(post.getCreatedAt(), post.getPostId()));
+        return new PostPageDTO(convertToDTOs(page.items()), page.nextCursor(), page.hasMore());
     }
 
     // get a post by it's ID
@@ -124,15 +155,17 @@ public class PostService {
             throw new UnauthorizedException("You are not authorized to update this post.");
         }
 
-        Set<String> tagNames = extractHashtags(postDTO.getContent());
-        Set<Hashtag> hashtags = new HashSet<>();
-        for (String tagName : tagNames) {
-            Hashtag hashtag = hashtagRepository.findByName(tagName)
-                    .orElseGet(() -> hashtagRepository.save(new Hashtag(tagName)));
-            hashtags.add(hashtag);
+        // Replace the post's hashtags; join rows are written directly so the
+        // hashtags collection never has to be loaded
+        Set<String> tagNames = HashtagTokenizer.extract(postDTO.getContent());
+        Set<String> addedTags = new HashSet<>(tagNames);
+        for (Object[] row : postRepository.findHashtagNamesByPostIds(List.of(postId))) {
+            addedTags.remove((String) row[1]);
         }
-        // Assign the updated set of hashtags to the existing post
-        existingPost.setHashtags(hashtags);
+        Map<String, Long> hashtagIds = hashtagService.resolveIds(tagNames);
+        hashtagService.setPostHashtags(existingPost.getPostId(), hashtagIds.values(), false);
+        // Only tags the edit introduced count as new uses
+        trendingHashtagService.recordTagsAfterCommit(addedTags);
 
         // Update fields in the entity
         existingPost.setCategory(postDTO.getCategory());
@@ -142,15 +175,14 @@ public class PostService {
         // Save changes to the database
         Post updatedPost = postRepository.save(existingPost);
 
-        return convertToDTO(updatedPost);
+        PostDTO updatedDTO = convertToDTO(updatedPost);
+        AfterCommit.run(() -> leaderboardService.update(updatedDTO));
+        return updatedDTO;
     }
 
     // get posts by hashtag
     public List<PostDTO> searchByHashtag(String hashtag) {
-        return postRepository.findByHashtag(hashtag.toLowerCase())
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(postRepository.findByHashtag(hashtag.toLowerCase()));
     }
 
     // delete a post if the user is authorized to delete the post
@@ -167,72 +199,82 @@ public class PostService {
 
         // Delete the post from the database
         postRepository.deleteById(postId);
+        AfterCommit.run(() -> leaderboardService.evict(postId));
     }
 
     // Calculate rank score for a single post
     public double calculateRankScore(Post post) {
-        int reactionsCount = post.getReactions().size();
-        int commentsCount = post.getComments().size();
+        int reactionsCount = post.getReactionCount();
+        int commentsCount = post.getCommentCount();
         int viewsCount = post.getViews();
 
         // Time since creation in hours
         long hoursSinceCreation = Duration.between(post.getCreatedAt(), LocalDateTime.now()).toHours();
 
         // Apply ranking formula
-        return ((reactionsCount * 2) + (commentsCount * 1.5) + viewsCount) / Math.pow((hoursSinceCreation + 2), 1.5);
-    }
-
-    // Update rank scores for all posts
-    @Transactional
-    public void updateRankScores() {
-        List<Post> posts = postRepository.findAll();
-        for (Post post : posts) {
-            double rankScore = calculateRankScore(post);
-            post.setRankScore(rankScore);
-            postRepository.save(post);
-        }
-    }
-
-    // Get ranked posts (sorted by rank score)
-    public List<PostDTO> getRankedPosts() {
-        return postRepository.findAll().stream()
-                .sorted(Comparator.comparingDouble(Post::getRankScore).reversed()) // Sort by rankScore descending
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return RankingService.score(reactionsCount, commentsCount, viewsCount, hoursSinceCreation);
     }
 
     // Helper method to convert Post entity to PostDTO
     private PostDTO convertToDTO(Post post) {
-        PostDTO dto = new PostDTO();
-        dto.setPostId(post.getPostId());
-        dto.setCategory(post.getCategory());
-        dto.setTitle(post.getTitle());
-        dto.setContent(post.getContent());
-        dto.setCreatedAt(post.getCreatedAt());
-        dto.setUserId(post.getUser().getUserId());
-
-        // Add author details
-        if (post.getUser() != null) {
-            dto.setAuthorName(post.getUser().getName());
-            dto.setAuthorProfileImage(post.getUser().getProfileImage());
-        } else {
-            // Handle case where post might not have a user (though unlikely for your setup)
-            dto.setAuthorName("Unknown Author");
-            dto.setAuthorProfileImage(null); // Or a default placeholder path
+        return convertToDTOs(List.of(post)).get(0);
+    }
+
+    // Convert a page of posts to DTOs.
+    // Authors, media and hashtags are loaded for the whole page with one
+    // set-based query each, so the query count does not grow with the page size.
+    private List<PostDTO> convertToDTOs(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
         }
+        List<Long> postIds = posts.stream().map(Post::getPostId).collect(Collectors.toList());
 
-        dto.setViews(post.getViews());
-        dto.setRankScore(post.getRankScore());
+        // Reading the id from a lazy proxy does not initialize it
+        Set<Long> authorIds = posts.stream()
+                .map(post -> post.getUser().getUserId())
+                .collect(Collectors.toSet());
+        Map<Long, User> authors = userRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
 
-        List<MediaDTO> mediaList = mediaService.getMediaByPostId(post.getPostId());
-        dto.setMediaList(mediaList);
-        
-        // Extract and set hashtags
-        if (post.getHashtags() != null) {
-            dto.setHashtags(post.getHashtags().stream().map(Hashtag::getName).collect(Collectors.toList()));
+        Map<Long, List<MediaDTO>> mediaByPost = mediaService.getMediaByPostIds(postIds);
+
+        Map<Long, List<String>> hashtagsByPost = new HashMap<>();
+        for (Object[] row : postRepository.findHashtagNamesByPostIds(postIds)) {
+            hashtagsByPost.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
         }
 
-        return dto;
+        List<PostDTO> dtos = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            PostDTO dto = new PostDTO();
+            dto.setPostId(post.getPostId());
+            dto.setCategory(post.getCategory());
+            dto.setTitle(post.getTitle());
+            dto.setContent(post.getContent());
+            dto.setCreatedAt(post.getCreatedAt());
+            dto.setUserId(post.getUser().getUserId());
+
+            // Add author details
+            User author = authors.get(post.getUser().getUserId());
+            if (author != null) {
+                dto.setAuthorName(author.getName());
+                dto.setAuthorProfileImage(author.getProfileImage());
+            } else {
+                // Handle case where post might not have a user (though unlikely for your setup)
+                dto.setAuthorName("Unknown Author");
+                dto.setAuthorProfileImage(null); // Or a default placeholder path
+            }
+
+            dto.setViews((int) (post.getViews() + viewTrackingService.getPendingViews(post.getPostId())));
+            dto.setRankScore(post.getRankScore());
+            dto.setReactionCount(post.getReactionCount()
+                    + engagementCounterService.getPendingReactionDelta(post.getPostId()));
+            dto.setCommentCount(post.getCommentCount()
+                    + engagementCounterService.getPendingCommentDelta(post.getPostId()));
+            dto.setMediaList(mediaByPost.getOrDefault(post.getPostId(), new ArrayList<>()));
+            dto.setHashtags(hashtagsByPost.getOrDefault(post.getPostId(), new ArrayList<>()));
+            dtos.add(dto);
+        }
+        return dtos;
     }
 
     // search posts by keyword in title and content
@@ -247,15 +289,11 @@ public class PostService {
                         .matching(keyword))
                 .fetchHits(20); // Limit results to 20 posts
 
-        return posts.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(posts);
     }
 
     public List<PostDTO> getTopRankedPosts(int limit) {
         List<Post> topPosts = postRepository.findAll(PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "rankScore"))).getContent();
-        return topPosts.stream()
-                       .map(this::convertToDTO)
-                       .collect(Collectors.toList());
+        return convertToDTOs(topPosts);
     }
 }
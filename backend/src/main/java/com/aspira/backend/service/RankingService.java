@@ -0,0 +1,141 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Incremental rank score engine.
+// Posts that received reactions, comments or views since the last run are
+// tracked in a dirty set and recomputed from their counters in chunks. Every other
+// post only ages, so its score is rescaled in SQL by the closed-form decay
+// ((hoursAtLastRun + 2) / (hoursNow + 2))^1.5 without touching child tables.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RankingService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String UPDATE_SCORE_SQL = "UPDATE posts SET rank_score = ? WHERE post_id = ?";
+
+    // Rescales every non-dirty score from the last run time to now (PostgreSQL)
+    private static final String DECAY_SQL = "UPDATE posts SET rank_score = rank_score * POWER("
+            + "(FLOOR(EXTRACT(EPOCH FROM (CAST(? AS timestamp) - created_at)) / 3600) + 2) / "
+            + "(FLOOR(EXTRACT(EPOCH FROM (CAST(? AS timestamp) - created_at)) / 3600) + 2), 1.5) "
+            + "WHERE rank_score > 0";
+
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Set<Long> dirtyPostIds = ConcurrentHashMap.newKeySet();
+
+    // Time of the last completed run; null until the first full pass after startup
+    private volatile LocalDateTime lastRunAt;
+
+    // Outcome of one scheduled run; a full pass recomputes every post and decays none
+    public record RankUpdate(boolean full, int recomputed, int decayed) {
+    }
+
+    // Ranking formula shared by the full and incremental passes
+    public static double score(long reactionsCount, long commentsCount, long viewsCount, long hoursSinceCreation) {
+        return ((reactionsCount * 2) + (commentsCount * 1.5) + viewsCount) / Math.pow((hoursSinceCreation + 2), 1.5);
+    }
+
+    // Record that a post's engagement changed and its score must be recomputed
+    public void markDirty(Long postId) {
+        if (postId != null) {
+            dirtyPostIds.add(postId);
+        }
+    }
+
+    public int getPendingCount() {
+        return dirtyPostIds.size();
+    }
+
+    // Scheduled entry point: full pass on the first run, incremental afterwards
+    @Transactional
+    public RankUpdate updateRankScores() {
+        LocalDateTime now = LocalDateTime.now();
+        RankUpdate update;
+        if (lastRunAt == null) {
+            dirtyPostIds.clear();
+            update = new RankUpdate(true, recomputeAll(now), 0);
+        } else {
+            List<Long> dirty = drainDirty();
+            try {
+                // Decay first so the freshly recomputed scores are not rescaled again
+                int decayed = jdbcTemplate.update(DECAY_SQL, Timestamp.valueOf(lastRunAt), Timestamp.valueOf(now));
+                update = new RankUpdate(false, recompute(dirty, now), decayed);
+            } catch (RuntimeException e) {
+                // Keep the drained posts for the next run; the transaction rolls back
+                dirtyPostIds.addAll(dirty);
+                throw e;
+            }
+        }
+        lastRunAt = now;
+        return update;
+    }
+
+    // Recompute every post from its counts, walking post IDs in chunks
+    private int recomputeAll(LocalDateTime now) {
+        int total = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> chunk = postRepository.findPostIdsAfter(afterId, PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                return total;
+            }
+            total += recomputeChunk(chunk, now);
+            afterId = chunk.get(chunk.size() - 1);
+        }
+    }
+
+    private List<Long> drainDirty() {
+        List<Long> drained = new ArrayList<>();
+        Iterator<Long> it = dirtyPostIds.iterator();
+        while (it.hasNext()) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    private int recompute(List<Long> postIds, LocalDateTime now) {
+        int total = 0;
+        for (int from = 0; from < postIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + CHUNK_SIZE, postIds.size()));
+            total += recomputeChunk(chunk, now);
+        }
+        return total;
+    }
+
+    // One read of the denormalized counters and one JDBC batch update per chunk
+    private int recomputeChunk(List<Long> postIds, LocalDateTime now) {
+        List<Object[]> updates = new ArrayList<>(postIds.size());
+        for (Object[] row : postRepository.findRankingInputs(postIds)) {
+            Long postId = (Long) row[0];
+            LocalDateTime createdAt = (LocalDateTime) row[1];
+            int views = (Integer) row[2];
+            int reactionsCount = (Integer) row[3];
+            int commentsCount = (Integer) row[4];
+            long hoursSinceCreation = Duration.between(createdAt, now).toHours();
+            double rankScore = score(reactionsCount, commentsCount, views, hoursSinceCreation);
+            updates.add(new Object[] { rankScore, postId });
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, updates);
+        return updates.size();
+    }
+}
@@ -1,9 +1,10 @@
 package com.aspira.backend.service;
 
 import com.aspira.backend.dto.ReactionDTO;
-import com.aspira.backend.dto.NotificationDTO;
+import com.aspira.backend.dto.ReactionSummaryDTO;
 import com.aspira.backend.exception.ResourceNotFoundException;
 import com.aspira.backend.exception.UnauthorizedException;
+import com.aspira.backend.model.NotificationEventType;
 import com.aspira.backend.model.Post;
 import com.aspira.backend.model.Reaction;
 import com.aspira.backend.model.User;
@@ -15,7 +16,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Optional;
 
@@ -26,7 +31,9 @@ public class ReactionService {
     private final ReactionRepository reactionRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final RankingService rankingService;
+    private final EngagementCounterService engagementCounterService;
  
     @Transactional
     public ReactionDTO createReaction(ReactionDTO reactionDTO) {
@@ -36,30 +43,56 @@ public class ReactionService {
         User user = userRepository.findById(reactionDTO.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + reactionDTO.getUserId()));
 
-        Reaction reaction = new Reaction();
-        reaction.setReactionType(ReactionType.valueOf(reactionDTO.getReactionType()));
-        reaction.setPost(post);
-        reaction.setUser(user);
+        // A user has at most one reaction per post (unique constraint); reacting again changes its type.
+        // One upsert instead of find-then-insert, so two concurrent reacts cannot collide.
+        ReactionType reactionType = ReactionType.valueOf(reactionDTO.getReactionType());
+        ReactionRepository.UpsertResult result = reactionRepository.upsert(
+                post.getPostId(), user.getUserId(), reactionType.name(), LocalDateTime.now());
+        Reaction savedReaction = reactionRepository.findById(result.getReactionId())
+                .orElseThrow(() -> new ResourceNotFoundException("Reaction not found with id: " + result.getReactionId()));
+        if (!result.isInserted()) {
+            return convertToDTO(savedReaction);
+        }
 
-        Reaction savedReaction = reactionRepository.save(reaction);
+        engagementCounterService.reactionAdded(post.getPostId());
+        rankingService.markDirty(post.getPostId());
         // Create notification for the owner of the post
         if (!post.getUser().getUserId().equals(user.getUserId())) { // Avoid notifying self
-            NotificationDTO notificationDTO = new NotificationDTO();
-            notificationDTO.setUserId(post.getUser().getUserId());
-            notificationDTO.setMessage(user.getUsername() + " liked your post.");
-            notificationDTO.setPostId(post.getPostId());
-            notificationService.createNotification(notificationDTO);
+            notificationOutboxService.enqueue(NotificationEventType.REACTION_CREATED, post.getUser().getUserId(), user,
+                    user.getUsername() + " liked your post.", post.getPostId(), null);
         }
         return convertToDTO(savedReaction);
     }
 
     public List<ReactionDTO> getReactionsByPostId(Long postId) {
-        return reactionRepository.findAll().stream()
-                .filter(reaction -> reaction.getPost().getPostId().equals(postId))
+        return reactionRepository.findByPostPostId(postId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // Aggregated reaction counts for a post plus the caller's own reaction
+    public ReactionSummaryDTO getReactionSummary(Long postId, Long userId) {
+        Map<ReactionType, Long> byType = new EnumMap<>(ReactionType.class);
+        for (Object[] row : reactionRepository.countByTypeForPost(postId)) {
+            byType.put((ReactionType) row[0], (Long) row[1]);
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (ReactionType type : ReactionType.values()) {
+            long count = byType.getOrDefault(type, 0L);
+            counts.put(type.name(), count);
+            total += count;
+        }
+
+        ReactionSummaryDTO summary = new ReactionSummaryDTO();
+        summary.setPostId(postId);
+        summary.setTotal(total);
+        summary.setCounts(counts);
+        summary.setMyReaction(findByUserIdAndPostId(userId, postId).map(this::convertToDTO).orElse(null));
+        return summary;
+    }
+
 
      @Transactional
     public ReactionDTO updateReaction(Long reactionId, Long userId, String newReactionType) {
@@ -93,12 +126,12 @@ public class ReactionService {
 
         // Delete the reaction from the database
         reactionRepository.deleteById(reactionId);
+        engagementCounterService.reactionRemoved(reaction.getPost().getPostId());
+        rankingService.markDirty(reaction.getPost().getPostId());
     }
 
     public Optional<Reaction> findByUserIdAndPostId(Long userId, Long postId) {
-        return reactionRepository.findAll().stream()
-            .filter(r -> r.getUser().getUserId().equals(userId) && r.getPost().getPostId().equals(postId))
-            .findFirst();
+        return reactionRepository.findByUserUserIdAndPostPostId(userId, postId);
     }
 
     private ReactionDTO convertToDTO(Reaction reaction) {
@@ -0,0 +1,116 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.dto.GroupMessageDTO;
+import com.aspira.backend.dto.GroupMessagePageDTO;
+import com.aspira.backend.util.AfterCommit;
+import com.aspira.backend.util.GuardedCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Bounded ring of the most recent messages per group, so opening a chat usually
+// needs no database round trip. Each ring holds at most `capacity` messages in
+// (sentAt, id) order, the same order the database pages use. Send/edit/delete update
+// a cached ring after commit; GuardedCache bounds the number of groups and discards
+// a load that raced with a write.
+@Service
+public class RecentMessageCache {
+
+    private static final Comparator<GroupMessageDTO> MESSAGE_ORDER =
+            Comparator.comparing(GroupMessageDTO::getSentAt).thenComparing(GroupMessageDTO::getId);
+
+    @Value("${chat.recent-cache-size:50}")
+    private int capacity;
+
+    @Value("${chat.recent-cache-groups:1000}")
+    private int maxGroups;
+
+    private GuardedCache<Long, Ring> rings;
+
+    private static final class Ring {
+        private final List<GroupMessageDTO> messages = new ArrayList<>();
+        private boolean complete; // True when the group has no messages older than the ring
+    }
+
+    @PostConstruct
+    void init() {
+        rings = new GuardedCache<>(maxGroups, 0);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Latest `limit` messages, oldest first, or null when the ring cannot answer
+    public GroupMessagePageDTO getLatest(Long groupId, int limit) {
+        Ring ring = rings.get(groupId);
+        if (ring == null || limit > capacity) {
+            return null;
+        }
+        synchronized (ring) {
+            if (ring.messages.size() < limit && !ring.complete) {
+                return null; // Deletes shrank the ring below what was asked for
+            }
+            List<GroupMessageDTO> all = new ArrayList<>(ring.messages);
+            List<GroupMessageDTO> page = new ArrayList<>(all.subList(Math.max(0, all.size() - limit), all.size()));
+            return new GroupMessagePageDTO(page, all.size() > limit || !ring.complete);
+        }
+    }
+
+    // Load the ring from the database unless a write to the group happened meanwhile.
+    // The loader returns up to `capacity` + 1 latest messages, oldest first.
+    public void load(Long groupId, Supplier<List<GroupMessageDTO>> loader) {
+        rings.load(groupId, () -> {
+            List<GroupMessageDTO> latest = loader.get();
+            Ring ring = new Ring();
+            ring.complete = latest.size() <= capacity;
+            int skip = Math.max(0, latest.size() - capacity);
+            ring.messages.addAll(latest.subList(skip, latest.size()));
+            return ring;
+        });
+    }
+
+    // Commits can finish out of sentAt order, so the message is inserted at its place
+    // rather than appended
+    public void messageSent(GroupMessageDTO message) {
+        afterCommit(message.getGroupId(), ring -> {
+            // A load that ran after the commit may already contain the message
+            for (GroupMessageDTO cached : ring.messages) {
+                if (cached.getId().equals(message.getId())) {
+                    return;
+                }
+            }
+            int position = ring.messages.size();
+            while (position > 0 && MESSAGE_ORDER.compare(ring.messages.get(position - 1), message) > 0) {
+                position--;
+            }
+            if (position == 0 && !ring.complete) {
+                return; // Older than everything cached; later pages come from the database
+            }
+            ring.messages.add(position, message);
+            if (ring.messages.size() > capacity) {
+                ring.messages.remove(0);
+                ring.complete = false;
+            }
+        });
+    }
+
+    public void messageEdited(GroupMessageDTO message) {
+        afterCommit(message.getGroupId(), ring -> ring.messages.replaceAll(
+                cached -> cached.getId().equals(message.getId()) ? message : cached));
+    }
+
+    public void messageDeleted(Long groupId, Long messageId) {
+        afterCommit(groupId, ring -> ring.messages.removeIf(cached -> cached.getId().equals(messageId)));
+    }
+
+    private void afterCommit(Long groupId, Consumer<Ring> change) {
+        AfterCommit.run(() -> rings.update(groupId, change));
+    }
+}
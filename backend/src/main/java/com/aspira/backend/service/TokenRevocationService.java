@@ -0,0 +1,134 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.repository.RevokedTokenRepository;
+import com.aspira.backend.util.AfterCommit;
+import com.aspira.backend.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Revocation list for JWTs, keyed by their jti claim.
+// Revocations are stored in the revoked_tokens table. Each node keeps a Bloom filter of
+// every unexpired revoked ID plus an exact, bounded set of recent ones, so the usual check
+// (a token that was never revoked) is a few bit reads and no I/O. Only a Bloom hit that
+// is not in the recent set falls through to the database, and the answer is cached.
+// Nodes pick up each other's revocations by polling; the filter is rebuilt periodically
+// so expired revocations stop taking up bits.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.revocation.expected-tokens:100000}")
+    private int expectedTokens;
+
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Value("${jwt.revocation.recent-size:10000}")
+    private int recentSize;
+
+    // Re-read a window before the last sync to cover clock skew between nodes and late commits
+    @Value("${jwt.revocation.sync-overlap-ms:30000}")
+    private long syncOverlapMillis;
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+    private Set<String> recent;      // Revoked IDs known to this node
+    private Set<String> notRevoked;  // Bloom false positives already checked against the database
+
+    @PostConstruct
+    void init() {
+        recent = boundedSet(recentSize);
+        notRevoked = boundedSet(recentSize);
+        rebuild();
+    }
+
+    // True when the token ID was revoked; tokens issued without an ID cannot be revoked
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        if (recent.contains(jti)) {
+            return true;
+        }
+        if (notRevoked.contains(jti)) {
+            return false;
+        }
+        boolean revoked = revokedTokenRepository.existsByJti(jti);
+        (revoked ? recent : notRevoked).add(jti);
+        return revoked;
+    }
+
+    // Durably revoke a token; this node rejects it as soon as the transaction commits
+    @Transactional
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        revokedTokenRepository.insertIfAbsent(jti, expiresAt, LocalDateTime.now());
+        AfterCommit.run(() -> markRevoked(jti));
+    }
+
+    // Pull revocations made on other nodes since the last sync
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = revokedTokenRepository.findJtisRevokedSince(
+                lastSync.minusNanos(syncOverlapMillis * 1_000_000), now);
+        jtis.forEach(this::markRevoked);
+        lastSync = now;
+    }
+
+    // Purge expired rows and start a fresh filter from the revocations that are still live
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-ms:3600000}",
+            fixedDelayString = "${jwt.revocation.rebuild-ms:3600000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(now));
+        List<String> live = revokedTokenRepository.findUnexpiredJtis(now);
+        BloomFilter fresh = new BloomFilter(Math.max(expectedTokens, live.size() * 2), falsePositiveRate);
+        live.forEach(fresh::add);
+        filter = fresh;
+        // markRevoked() adds to `recent` before the filter, so anything it added to the old
+        // filter during the rebuild is either copied here or already went to the fresh one
+        List<String> snapshot;
+        synchronized (recent) {
+            snapshot = new ArrayList<>(recent);
+        }
+        snapshot.forEach(fresh::add);
+        if (lastSync == null || lastSync.isBefore(now)) {
+            lastSync = now;
+        }
+        log.debug("Rebuilt token revocation filter with {} live entries, purged {}", live.size(), purged);
+    }
+
+    private void markRevoked(String jti) {
+        recent.add(jti);
+        notRevoked.remove(jti);
+        filter.add(jti);
+    }
+
+    // Oldest entries are dropped first; a dropped revocation is still caught by the filter and database
+    private static Set<String> boundedSet(int capacity) {
+        return Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        }));
+    }
+}
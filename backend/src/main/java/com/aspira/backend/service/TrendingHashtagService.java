@@ -0,0 +1,185 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.dto.TrendingHashtagDTO;
+import com.aspira.backend.repository.PostRepository;
+import com.aspira.backend.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Trending hashtags over sliding time windows.
+// Tag uses are counted in time-bucketed rings (60 one-minute buckets for the last
+// hour, 168 one-hour buckets for the last 24h / 7d). A scheduled job merges the
+// buckets of each window into a top-N snapshot, so reads are served from memory
+// without touching the post_hashtags table.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingHashtagService {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long HOUR_MILLIS = 60 * MINUTE_MILLIS;
+
+    public enum Window {
+        ONE_HOUR("1h"), ONE_DAY("24h"), SEVEN_DAYS("7d");
+
+        private final String label;
+
+        Window(String label) {
+            this.label = label;
+        }
+
+        public static Window fromLabel(String label) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(label)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported window: " + label + " (use 1h, 24h or 7d)");
+        }
+    }
+
+    private final PostRepository postRepository;
+
+    private final BucketRing minuteRing = new BucketRing(MINUTE_MILLIS, 60);
+    private final BucketRing hourRing = new BucketRing(HOUR_MILLIS, 7 * 24);
+
+    private volatile Map<Window, List<TrendingHashtagDTO>> snapshot = Map.of();
+
+    @Value("${trending.max-results:50}")
+    private int maxResults;
+
+    @Value("${trending.max-tags-per-bucket:50000}")
+    private int maxTagsPerBucket;
+
+    // Record that posts used these tags at the given time
+    public void recordTags(Collection<String> tags, LocalDateTime usedAt) {
+        long millis = usedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (String tag : tags) {
+            minuteRing.add(tag, millis);
+            hourRing.add(tag, millis);
+        }
+    }
+
+    // Record tags used by a post being written; counted only once the transaction commits
+    public void recordTagsAfterCommit(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        List<String> snapshotTags = List.copyOf(tags);
+        AfterCommit.run(() -> recordTags(snapshotTags, LocalDateTime.now()));
+    }
+
+    // Top tags for a window, highest count first
+    public List<TrendingHashtagDTO> getTrending(Window window, int limit) {
+        List<TrendingHashtagDTO> top = snapshot.getOrDefault(window, List.of());
+        return new ArrayList<>(top.subList(0, Math.min(Math.max(limit, 0), top.size())));
+    }
+
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms:60000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        Map<Window, List<TrendingHashtagDTO>> next = new EnumMap<>(Window.class);
+        next.put(Window.ONE_HOUR, topN(minuteRing.totals(now, 60)));
+        next.put(Window.ONE_DAY, topN(hourRing.totals(now, 24)));
+        next.put(Window.SEVEN_DAYS, topN(hourRing.totals(now, 7 * 24)));
+        snapshot = next;
+    }
+
+    // Rebuild the rings from the last seven days of posts after a restart
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void backfill() {
+        List<Object[]> uses = postRepository.findHashtagUsesSince(LocalDateTime.now().minusDays(7));
+        for (Object[] row : uses) {
+            recordTags(List.of((String) row[0]), (LocalDateTime) row[1]);
+        }
+        refresh();
+        log.info("Trending hashtags backfilled from {} tag uses", uses.size());
+    }
+
+    private List<TrendingHashtagDTO> topN(Map<String, Long> totals) {
+        List<TrendingHashtagDTO> tags = new ArrayList<>(totals.size());
+        totals.forEach((name, count) -> tags.add(new TrendingHashtagDTO(name, count)));
+        tags.sort((a, b) -> b.getCount() != a.getCount()
+                ? Long.compare(b.getCount(), a.getCount())
+                : a.getName().compareTo(b.getName()));
+        return List.copyOf(tags.subList(0, Math.min(maxResults, tags.size())));
+    }
+
+    // Fixed ring of time buckets; a bucket is reset when its slot is reused for a newer period
+    private final class BucketRing {
+        private final long bucketMillis;
+        private final int size;
+        private final AtomicReferenceArray<Bucket> buckets;
+
+        BucketRing(long bucketMillis, int size) {
+            this.bucketMillis = bucketMillis;
+            this.size = size;
+            this.buckets = new AtomicReferenceArray<>(size);
+        }
+
+        void add(String tag, long millis) {
+            long period = millis / bucketMillis;
+            int index = (int) (period % size);
+            Bucket bucket = buckets.get(index);
+            while (bucket == null || bucket.period < period) {
+                Bucket fresh = new Bucket(period);
+                if (buckets.compareAndSet(index, bucket, fresh)) {
+                    bucket = fresh;
+                } else {
+                    bucket = buckets.get(index);
+                }
+            }
+            if (bucket.period != period) {
+                return; // Older than the ring covers
+            }
+            LongAdder counter = bucket.counts.get(tag);
+            if (counter == null) {
+                if (bucket.counts.size() >= maxTagsPerBucket) {
+                    return; // Long tail beyond the bucket bound is not tracked
+                }
+                counter = bucket.counts.computeIfAbsent(tag, t -> new LongAdder());
+            }
+            counter.increment();
+        }
+
+        Map<String, Long> totals(long now, int bucketsInWindow) {
+            long current = now / bucketMillis;
+            Map<String, Long> totals = new HashMap<>();
+            for (long period = current - bucketsInWindow + 1; period <= current; period++) {
+                Bucket bucket = buckets.get((int) (period % size));
+                if (bucket != null && bucket.period == period) {
+                    bucket.counts.forEach((tag, counter) -> totals.merge(tag, counter.sum(), Long::sum));
+                }
+            }
+            return totals;
+        }
+    }
+
+    private static final class Bucket {
+        private final long period;
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        Bucket(long period) {
+            this.period = period;
+        }
+    }
+}
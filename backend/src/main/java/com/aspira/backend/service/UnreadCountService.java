@@ -0,0 +1,110 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.repository.NotificationRepository;
+import com.aspira.backend.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user unread notification counters.
+// A counter is loaded from the database on first read and then kept current by the
+// notification writes (applied after commit). Concurrent loads and writes can leave a
+// counter slightly off, so cached counters are periodically replaced by a fresh count.
+// Counters nobody has read for the idle timeout are dropped at that point, which keeps
+// room in the cache for users who are currently active.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCountService {
+
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<Long, UnreadCounter> counters = new ConcurrentHashMap<>();
+
+    @Value("${notifications.unread-cache-size:50000}")
+    private int maxCachedUsers;
+
+    @Value("${notifications.unread-idle-ms:1800000}")
+    private long idleMillis;
+
+    private static final class UnreadCounter {
+        private final AtomicLong count;
+        private volatile long lastReadAt = System.currentTimeMillis();
+
+        UnreadCounter(long count) {
+            this.count = new AtomicLong(count);
+        }
+    }
+
+    public long getUnreadCount(Long userId) {
+        UnreadCounter counter = counters.get(userId);
+        if (counter != null) {
+            counter.lastReadAt = System.currentTimeMillis();
+            return counter.count.get();
+        }
+        long count = notificationRepository.countByUserUserIdAndIsReadFalse(userId);
+        if (counters.size() < maxCachedUsers) {
+            counters.putIfAbsent(userId, new UnreadCounter(count));
+        }
+        return count;
+    }
+
+    // Apply a change in unread notifications once the current transaction commits
+    public void adjust(Long userId, long delta) {
+        AfterCommit.run(() -> {
+            UnreadCounter counter = counters.get(userId);
+            if (counter != null) {
+                counter.count.updateAndGet(value -> Math.max(0, value + delta));
+            }
+        });
+    }
+
+    public void reset(Long userId) {
+        AfterCommit.run(() -> {
+            UnreadCounter counter = counters.get(userId);
+            if (counter != null) {
+                counter.count.set(0);
+            }
+        });
+    }
+
+    // Drop idle counters, then replace the rest with database counts in bounded chunks
+    @Scheduled(fixedDelayString = "${notifications.unread-reconcile-ms:300000}")
+    public void reconcile() {
+        long idleSince = System.currentTimeMillis() - idleMillis;
+        int dropped = 0;
+        List<Long> userIds = new ArrayList<>(counters.size());
+        for (Map.Entry<Long, UnreadCounter> entry : counters.entrySet()) {
+            if (entry.getValue().lastReadAt < idleSince && counters.remove(entry.getKey(), entry.getValue())) {
+                dropped++;
+            } else {
+                userIds.add(entry.getKey());
+            }
+        }
+        for (int i = 0; i < userIds.size(); i += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(i, Math.min(i + RECONCILE_CHUNK_SIZE, userIds.size()));
+            Map<Long, Long> counts = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUserIds(chunk)) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long userId : chunk) {
+                UnreadCounter counter = counters.get(userId);
+                if (counter != null) {
+                    counter.count.set(counts.getOrDefault(userId, 0L));
+                }
+            }
+        }
+        log.debug("Reconciled unread counters for {} users, dropped {} idle", userIds.size(), dropped);
+    }
+}
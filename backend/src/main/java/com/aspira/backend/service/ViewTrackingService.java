@@ -0,0 +1,181 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.dto.ViewMetricsDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Buffers post views in memory and flushes them to posts.views in batches,
+// so reading a post never turns into a row-locking write.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewTrackingService {
+
+    private static final String FLUSH_SQL = "UPDATE posts SET views = views + ? WHERE post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RankingService rankingService;
+
+    // Per-post view counters. Counters are never reset: each flush writes the growth since
+    // the previous flush, so an increment that races with a flush is simply picked up by the
+    // next one. Entries are evicted once idle.
+    private final Map<Long, PendingViews> pendingViews = new ConcurrentHashMap<>();
+
+    // Entries evicted by the previous flush. A request thread may still hold one and add a
+    // view after the eviction, so they are checked once more before being dropped.
+    private List<Map.Entry<Long, PendingViews>> retired = new ArrayList<>();
+
+    // (viewer, post) -> time until which repeat views are ignored
+    private final Map<ViewKey, Long> recentViewers = new ConcurrentHashMap<>();
+
+    private final LongAdder recordedViews = new LongAdder();
+    private final LongAdder duplicateViews = new LongAdder();
+    private final LongAdder droppedViews = new LongAdder();
+    private final AtomicLong flushedViews = new AtomicLong();
+
+    @Value("${views.dedup-window-seconds:600}")
+    private long dedupWindowSeconds; // 0 disables per-user dedup
+
+    @Value("${views.max-buffered-posts:100000}")
+    private int maxBufferedPosts;
+
+    @Value("${views.max-dedup-entries:500000}")
+    private int maxDedupEntries;
+
+    private record ViewKey(String viewer, Long postId) {
+    }
+
+    private static final class PendingViews {
+        private final LongAdder views = new LongAdder();
+        private volatile long flushed; // Part of `views` already written; only flush() advances it
+
+        long unflushed() {
+            return views.sum() - flushed;
+        }
+    }
+
+    // Record a view of a post; viewer may be null for anonymous reads
+    public void recordView(Long postId, String viewer) {
+        if (viewer != null && dedupWindowSeconds > 0 && isDuplicate(postId, viewer)) {
+            duplicateViews.increment();
+            return;
+        }
+
+        PendingViews counter = pendingViews.get(postId);
+        if (counter == null) {
+            if (pendingViews.size() >= maxBufferedPosts) {
+                // Buffer is full until the next flush; shed the view instead of growing
+                droppedViews.increment();
+                return;
+            }
+            counter = pendingViews.computeIfAbsent(postId, id -> new PendingViews());
+        }
+        counter.views.increment();
+        recordedViews.increment();
+    }
+
+    // Views buffered for a post but not yet written to the database
+    public long getPendingViews(Long postId) {
+        PendingViews counter = pendingViews.get(postId);
+        return counter != null ? counter.unflushed() : 0L;
+    }
+
+    public ViewMetricsDTO getMetrics() {
+        long buffered = 0;
+        for (PendingViews counter : pendingViews.values()) {
+            buffered += counter.unflushed();
+        }
+        ViewMetricsDTO metrics = new ViewMetricsDTO();
+        metrics.setBufferedViews(buffered);
+        metrics.setBufferedPosts(pendingViews.size());
+        metrics.setRecordedViews(recordedViews.sum());
+        metrics.setDuplicateViews(duplicateViews.sum());
+        metrics.setDroppedViews(droppedViews.sum());
+        metrics.setFlushedViews(flushedViews.get());
+        return metrics;
+    }
+
+    @Scheduled(fixedDelayString = "${views.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        // Views that landed on entries after the previous flush evicted them
+        for (Map.Entry<Long, PendingViews> entry : retired) {
+            long late = entry.getValue().unflushed();
+            if (late > 0) {
+                batch.add(new Object[] { late, entry.getKey() });
+            }
+        }
+        retired = new ArrayList<>();
+
+        for (Map.Entry<Long, PendingViews> entry : pendingViews.entrySet()) {
+            PendingViews counter = entry.getValue();
+            long total = counter.views.sum();
+            long views = total - counter.flushed;
+            if (views > 0) {
+                counter.flushed = total;
+                batch.add(new Object[] { views, entry.getKey() });
+            } else if (pendingViews.remove(entry.getKey(), counter)) {
+                retired.add(Map.entry(entry.getKey(), counter));
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                long total = 0;
+                for (Object[] row : batch) {
+                    total += (Long) row[0];
+                    rankingService.markDirty((Long) row[1]);
+                }
+                flushedViews.addAndGet(total);
+                log.debug("Flushed {} views for {} posts", total, batch.size());
+            } catch (RuntimeException e) {
+                // Re-buffer so the views are retried on the next flush
+                for (Object[] row : batch) {
+                    pendingViews.computeIfAbsent((Long) row[1], id -> new PendingViews()).views.add((Long) row[0]);
+                }
+                log.error("Failed to flush post views, will retry", e);
+            }
+        }
+
+        evictExpiredViewers();
+    }
+
+    private boolean isDuplicate(Long postId, String viewer) {
+        long now = System.currentTimeMillis();
+        long until = now + dedupWindowSeconds * 1000;
+        ViewKey key = new ViewKey(viewer, postId);
+        Long seenUntil = recentViewers.get(key);
+        if (seenUntil == null) {
+            if (recentViewers.size() >= maxDedupEntries) {
+                return false;
+            }
+            // Of two concurrent first views only the one that inserts counts
+            seenUntil = recentViewers.putIfAbsent(key, until);
+            if (seenUntil == null) {
+                return false;
+            }
+        }
+        if (seenUntil > now) {
+            return true;
+        }
+        // Window expired: only the thread that renews it counts the view
+        return !recentViewers.replace(key, seenUntil, until);
+    }
+
+    private void evictExpiredViewers() {
+        long now = System.currentTimeMillis();
+        recentViewers.values().removeIf(seenUntil -> seenUntil <= now);
+    }
+}
@@ -0,0 +1,132 @@
+package com.aspira.backend.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Bounded per-key cache of mutable values that are kept current by writes and
+// loaded lazily from the database.
+// A load first parks a placeholder entry and only installs its result if that exact
+// entry is still there. Every write replaces the entry object, so a load that raced
+// with a write is discarded instead of caching a snapshot that misses the write.
+// Writes to one key are serialized by the map's per-bin locking; values are mutated
+// under their own monitor, which readers must hold as well. Nothing is kept for keys
+// that are neither cached nor loading.
+// Past maxEntries the least recently read tenth is dropped in one pass. With a TTL,
+// older entries are reloaded on the next read, which bounds staleness from writes
+// made on other nodes.
+public final class GuardedCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private static final class Entry<V> {
+        private final V value; // null while a load is in flight
+        private final long loadedAt;
+        private volatile long lastReadAt;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.lastReadAt = loadedAt;
+        }
+    }
+
+    // ttlMillis <= 0 keeps entries until they are evicted
+    public GuardedCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    // Cached value, or null when the key is not cached or has expired
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.value == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (isExpired(entry, now)) {
+            return null;
+        }
+        entry.lastReadAt = now;
+        return entry.value;
+    }
+
+    // Run the loader and cache its result unless the key was written meanwhile.
+    // Returns the loaded value either way; a loader failure leaves nothing behind.
+    public V load(K key, Supplier<V> loader) {
+        Entry<V> pending = new Entry<>(null, System.currentTimeMillis());
+        Entry<V> existing = entries.putIfAbsent(key, pending);
+        Entry<V> token = existing != null ? existing : pending;
+        boolean installed = false;
+        try {
+            V value = loader.get();
+            installed = entries.replace(key, token, new Entry<>(value, System.currentTimeMillis()));
+            return value;
+        } finally {
+            if (!installed && token == pending) {
+                entries.remove(key, pending);
+            }
+            if (installed && entries.size() > maxEntries) {
+                trim();
+            }
+        }
+    }
+
+    // Apply a change to the cached value, if any, and discard any load in flight for the key
+    public void update(K key, Consumer<V> change) {
+        entries.computeIfPresent(key, (k, entry) -> {
+            if (entry.value == null) {
+                return null;
+            }
+            synchronized (entry.value) {
+                change.accept(entry.value);
+            }
+            Entry<V> updated = new Entry<>(entry.value, entry.loadedAt);
+            updated.lastReadAt = entry.lastReadAt;
+            return updated;
+        });
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return ttlMillis > 0 && now - entry.loadedAt > ttlMillis;
+    }
+
+    // Drop the least recently read tenth of the entries; one thread at a time
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long[] readTimes = entries.values().stream()
+                    .filter(entry -> entry.value != null)
+                    .mapToLong(entry -> entry.lastReadAt)
+                    .toArray();
+            if (readTimes.length == 0) {
+                return;
+            }
+            Arrays.sort(readTimes);
+            long threshold = readTimes[Math.max(0, readTimes.length / 10 - 1)];
+            entries.forEach((key, entry) -> {
+                if (entry.value != null && entry.lastReadAt <= threshold) {
+                    entries.remove(key, entry);
+                }
+            });
+        } finally {
+            trimming.set(false);
+        }
+    }
+}
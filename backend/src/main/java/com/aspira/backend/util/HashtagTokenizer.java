@@ -0,0 +1,52 @@
+package com.aspira.backend.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// Extracts "#tag" tokens from post content in a single pass without a regex.
+// A tag is '#' followed by [A-Za-z0-9_] characters (the same set as the old "#(\w+)"
+// pattern); tags are lowercased and tags longer than the hashtags.name column are skipped.
+public final class HashtagTokenizer {
+
+    public static final int MAX_TAG_LENGTH = 50;
+
+    private HashtagTokenizer() {
+    }
+
+    public static Set<String> extract(String content) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (content == null) {
+            return tags;
+        }
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            if (content.charAt(i) != '#') {
+                i++;
+                continue;
+            }
+            int start = ++i;
+            while (i < length && isTagChar(content.charAt(i))) {
+                i++;
+            }
+            int tagLength = i - start;
+            if (tagLength > 0 && tagLength <= MAX_TAG_LENGTH) {
+                tags.add(toLowerAscii(content, start, i));
+            }
+        }
+        return tags;
+    }
+
+    private static boolean isTagChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static String toLowerAscii(String content, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            char c = content.charAt(i);
+            chars[i - start] = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(chars);
+    }
+}
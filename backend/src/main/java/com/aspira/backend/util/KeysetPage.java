@@ -0,0 +1,36 @@
+package com.aspira.backend.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset-paginated feed ordered by (createdAt DESC, id DESC).
+// Queries fetch one row more than the page size; the extra row only tells us
+// that another page exists and is never returned.
+public record KeysetPage<T>(List<T> items, String nextCursor, boolean hasMore) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    // Clamp the requested page size to [1, MAX_PAGE_SIZE]
+    public static int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    public static Pageable pageRequestFor(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    // Trim the look-ahead row and build the cursor from the last row kept
+    public static <T> KeysetPage<T> of(List<T> rows, int pageSize, Function<T, FeedCursor> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new KeysetPage<>(items, nextCursor, hasMore);
+    }
+}
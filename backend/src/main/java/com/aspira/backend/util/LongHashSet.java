@@ -0,0 +1,130 @@
+package com.aspira.backend.util;
+
+// Compact open-addressing hash set of primitive longs (linear probing, no boxing).
+// Uses about 8 bytes per slot at a load factor of 0.6, versus ~50 bytes per entry
+// for a HashSet<Long>. Not thread-safe; callers synchronize.
+public final class LongHashSet {
+
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final long EMPTY = 0L; // Slot marker; the value 0 itself is tracked separately
+
+    private long[] table;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int i = slot(value);
+        while (true) {
+            long current = table[i];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = slot(value);
+        while (table[i] != EMPTY) {
+            if (table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        if (++size > threshold) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int gap = slot(value);
+        while (table[gap] != value) {
+            if (table[gap] == EMPTY) {
+                return false;
+            }
+            gap = (gap + 1) & mask;
+        }
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int j = gap;
+        while (true) {
+            j = (j + 1) & mask;
+            long current = table[j];
+            if (current == EMPTY) {
+                break;
+            }
+            int home = slot(current);
+            boolean homeInRange = gap <= j ? (home > gap && home <= j) : (home > gap || home <= j);
+            if (!homeInRange) {
+                table[gap] = current;
+                gap = j;
+            }
+        }
+        table[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    private int slot(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR) + 1;
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        long[] old = table;
+        allocate(newCapacity);
+        for (long value : old) {
+            if (value != EMPTY) {
+                int i = slot(value);
+                while (table[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = value;
+            }
+        }
+    }
+}
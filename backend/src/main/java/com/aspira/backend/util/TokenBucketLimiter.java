@@ -0,0 +1,80 @@
+package com.aspira.backend.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Token-bucket rate limiter keyed by a string (IP address, email, ...).
+// Buckets live in a ConcurrentHashMap, whose per-bin locking stripes contention across
+// keys, and each bucket is updated under its own monitor. A bucket that has refilled to
+// capacity holds no state a fresh one would not, so evictFull() can drop it. Past maxKeys,
+// keys without a bucket are let through unlimited (fail open): a flood of distinct keys can
+// neither grow the map nor lock out every caller it has not seen yet, and keys that already
+// have a bucket stay limited.
+public final class TokenBucketLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int maxKeys;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxKeys = maxKeys;
+    }
+
+    // Take one token; returns 0 when allowed, otherwise the nanoseconds until a token is available
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                return 0;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    // Drop buckets that are back to full capacity; returns the number removed
+    public int evictFull() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        synchronized long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
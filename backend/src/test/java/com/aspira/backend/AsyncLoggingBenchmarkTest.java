@@ -0,0 +1,140 @@
+package com.aspira.backend;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Caller-side throughput of System.out printing against the async appender setup from
+// logback-spring.xml, both writing to a deliberately slow sink. Run with: mvn test -Dbenchmarks=true
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class AsyncLoggingBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 2_000;
+    private static final long WRITE_DELAY_NANOS = 20_000;
+
+    @Test
+    void asyncAppenderKeepsCallersOffTheSlowSink() throws InterruptedException {
+        SlowSink printSink = new SlowSink();
+        PrintStream out = new PrintStream(printSink, true);
+        long printNanos = run(i -> out.println("Post viewed: " + i + " by user " + (i % 97)));
+
+        SlowSink logSink = new SlowSink();
+        LoggerContext context = new LoggerContext();
+        Logger logger = asyncLogger(context, logSink);
+        long logNanos;
+        try {
+            logNanos = run(i -> logger.info("Post viewed: {} by user {}", i, i % 97));
+        } finally {
+            context.stop();
+        }
+
+        int events = THREADS * EVENTS_PER_THREAD;
+        log.info("{} events on {} threads: System.out {} ops/s, async appender {} ops/s ({} of {} events written)",
+                events, THREADS, opsPerSecond(events, printNanos), opsPerSecond(events, logNanos),
+                logSink.writes.get(), events);
+        assertTrue(logNanos < printNanos, "async logging should not be slower than System.out");
+    }
+
+    // Same shape as ASYNC_CONSOLE: pattern encoder behind an AsyncAppender that never blocks
+    private static Logger asyncLogger(LoggerContext context, OutputStream sink) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.start();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> target = new OutputStreamAppender<>();
+        target.setContext(context);
+        target.setName("SLOW_SINK");
+        target.setEncoder(encoder);
+        target.setOutputStream(sink);
+        target.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC_SLOW_SINK");
+        async.setQueueSize(8192);
+        async.setIncludeCallerData(false);
+        async.setNeverBlock(true);
+        async.addAppender(target);
+        async.start();
+
+        Logger logger = context.getLogger(AsyncLoggingBenchmarkTest.class);
+        logger.setAdditive(false);
+        logger.addAppender(async);
+        return logger;
+    }
+
+    private static long run(IntConsumer event) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        List<Thread> threads = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * EVENTS_PER_THREAD;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                        event.accept(offset + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - began;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return elapsed;
+    }
+
+    private static long opsPerSecond(int events, long nanos) {
+        return events * 1_000_000_000L / Math.max(1, nanos);
+    }
+
+    // Stands in for a terminal or log collector that is slower than the application
+    private static final class SlowSink extends OutputStream {
+        private final AtomicLong writes = new AtomicLong();
+
+        @Override
+        public void write(int b) {
+            // Single bytes are buffered by the callers above; only whole writes are slowed down
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            writes.incrementAndGet();
+            LockSupport.parkNanos(WRITE_DELAY_NANOS);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.model.CHGroupMember;
+import com.aspira.backend.model.User;
+import com.aspira.backend.repository.CHGroupMemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Membership operations on a 10k-member group. Run with: mvn test -Dbenchmarks=true
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class GroupMembershipBenchmarkTest {
+
+    private static final int MEMBERS = 10_000;
+    private static final int ROUNDS = 5;
+
+    // The member set with CHGroupMember's user-id hashCode against the old constant hashCode,
+    // which put every member of a group into one bucket
+    @Test
+    void memberSetWithUserIdHashCodeBeatsConstantHashCode() {
+        long spread = bestOf(() -> fillAndProbe(userId -> new CHGroupMember()));
+        long constant = bestOf(() -> fillAndProbe(userId -> new CHGroupMember() {
+            @Override
+            public int hashCode() {
+                return CHGroupMember.class.hashCode();
+            }
+        }));
+
+        log.info("{} members, add + contains + remove: user-id hash {} ms, constant hash {} ms",
+                MEMBERS, spread / 1_000_000, constant / 1_000_000);
+        assertTrue(spread < constant, "user-id hashCode should be faster than a constant one");
+    }
+
+    // isUserMemberOfGroup against the membership index: one id-only load, then set lookups
+    @Test
+    void membershipChecksOnATenThousandMemberGroup() {
+        List<Long> userIds = new ArrayList<>(MEMBERS);
+        for (long userId = 1; userId <= MEMBERS; userId++) {
+            userIds.add(userId * 7);
+        }
+        CHGroupMemberRepository repository = mock(CHGroupMemberRepository.class);
+        when(repository.findUserIdsByGroupId(1L)).thenReturn(userIds);
+        GroupService groupService = new GroupService(repository);
+        ReflectionTestUtils.setField(groupService, "maxGroups", 100);
+        ReflectionTestUtils.setField(groupService, "ttlMillis", 0L);
+        groupService.initIndex();
+
+        int checks = 1_000_000;
+        long elapsed = bestOf(() -> {
+            int members = 0;
+            for (int i = 0; i < checks; i++) {
+                if (groupService.isUserMemberOfGroup(1L, (long) (i % (MEMBERS * 2)) * 7)) {
+                    members++;
+                }
+            }
+            assertEquals(checks / 2, members);
+        });
+        log.info("{} membership checks on a {}-member group: {} ms ({} ns per check)",
+                checks, MEMBERS, elapsed / 1_000_000, elapsed / checks);
+
+        // Outside a transaction the change applies immediately
+        groupService.memberRemoved(1L, 7L);
+        groupService.memberAdded(1L, 8L);
+        assertFalse(groupService.isUserMemberOfGroup(1L, 7L));
+        assertTrue(groupService.isUserMemberOfGroup(1L, 8L));
+        verify(repository, times(1)).findUserIdsByGroupId(1L);
+    }
+
+    private static void fillAndProbe(Function<Long, CHGroupMember> factory) {
+        Set<CHGroupMember> members = new HashSet<>();
+        List<CHGroupMember> created = new ArrayList<>(MEMBERS);
+        for (long id = 1; id <= MEMBERS; id++) {
+            CHGroupMember member = factory.apply(id);
+            member.setId(id);
+            User user = new User();
+            user.setUserId(id);
+            member.setUser(user);
+            members.add(member);
+            created.add(member);
+        }
+        for (CHGroupMember member : created) {
+            assertTrue(members.contains(member));
+        }
+        for (CHGroupMember member : created) {
+            members.remove(member);
+        }
+        assertTrue(members.isEmpty());
+    }
+
+    private static long bestOf(Runnable run) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,148 @@
+package com.aspira.backend.service;
+
+import com.aspira.backend.dto.PostDTO;
+import com.aspira.backend.dto.PostPageDTO;
+import com.aspira.backend.model.Hashtag;
+import com.aspira.backend.model.Media;
+import com.aspira.backend.model.MediaType;
+import com.aspira.backend.model.Post;
+import com.aspira.backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Post pages are hydrated with a fixed number of set-based queries (page, authors, media,
+// hashtags), so the statement count must not grow with the number of posts on the page.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.search.backend.directory.type=local-heap"
+})
+@Import({ PostService.class, MediaService.class })
+class PostServiceQueryCountTest {
+
+    private static final int POSTS = 40;
+    private static final int QUERIES_PER_PAGE = 4;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private HashtagService hashtagService;
+
+    @MockitoBean
+    private EngagementCounterService engagementCounterService;
+
+    @MockitoBean
+    private ViewTrackingService viewTrackingService;
+
+    @MockitoBean
+    private TrendingHashtagService trendingHashtagService;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Media URLs are built from the current request
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Hashtag java = entityManager.persist(new Hashtag("java"));
+        Hashtag spring = entityManager.persist(new Hashtag("spring"));
+        for (int i = 0; i < POSTS; i++) {
+            // A different author for every post, so authors cannot come from the persistence context
+            User author = new User();
+            author.setUsername("author" + i);
+            author.setEmail("author" + i + "@example.com");
+            author.setName("Author " + i);
+            entityManager.persist(author);
+
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setCategory("general");
+            post.setUser(author);
+            post.getHashtags().add(java);
+            post.getHashtags().add(spring);
+            entityManager.persist(post);
+
+            for (int m = 0; m < 2; m++) {
+                Media media = new Media();
+                media.setMediaUrl("post-" + i + "-" + m + ".png");
+                media.setMediaType(MediaType.IMAGE);
+                media.setPost(post);
+                entityManager.persist(media);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithPageSize() {
+        long smallPage = statementsFor(5);
+        long largePage = statementsFor(POSTS);
+
+        assertEquals(QUERIES_PER_PAGE, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void everyPostOnThePageIsFullyHydrated() {
+        PostPageDTO page = postService.getFeedPage(null, POSTS);
+
+        assertEquals(POSTS, page.getPosts().size());
+        for (PostDTO post : page.getPosts()) {
+            assertTrue(post.getAuthorName().startsWith("Author "), post.getAuthorName());
+            assertEquals(2, post.getMediaList().size());
+            assertEquals(2, post.getHashtags().size());
+        }
+    }
+
+    @Test
+    void laterPagesUseTheSameNumberOfQueries() {
+        String cursor = postService.getFeedPage(null, 10).getNextCursor();
+        entityManager.clear();
+        statistics.clear();
+
+        PostPageDTO next = postService.getFeedPage(cursor, 10);
+
+        assertEquals(10, next.getPosts().size());
+        assertEquals(QUERIES_PER_PAGE, statistics.getPrepareStatementCount());
+    }
+
+    private long statementsFor(int pageSize) {
+        entityManager.clear();
+        statistics.clear();
+        PostPageDTO page = postService.getFeedPage(null, pageSize);
+        assertEquals(pageSize, page.getPosts().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
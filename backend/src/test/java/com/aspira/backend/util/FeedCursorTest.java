@@ -0,0 +1,43 @@
+package com.aspira.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedCursorTest {
+
+    @Test
+    void encodeThenDecodeReturnsTheSameCursor() {
+        FeedCursor cursor = new FeedCursor(LocalDateTime.of(2024, 5, 17, 9, 30, 12, 123_456_789), 42L);
+
+        FeedCursor decoded = FeedCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new FeedCursor(LocalDateTime.of(2024, 12, 31, 23, 59, 59), Long.MAX_VALUE).encode();
+
+        assertFalse(encoded.contains("+") || encoded.contains("/") || encoded.contains("="), encoded);
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(FeedCursor.decode(null));
+        assertNull(FeedCursor.decode(""));
+        assertNull(FeedCursor.decode("   "));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("bm8tc2VwYXJhdG9y")); // "no-separator"
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("MjAyNHxhYmM")); // "2024|abc"
+    }
+}
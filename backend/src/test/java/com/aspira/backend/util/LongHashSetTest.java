@@ -0,0 +1,140 @@
+package com.aspira.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    @Test
+    void addContainsAndRemove() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertTrue(set.add(7));
+        assertFalse(set.add(7));
+        assertTrue(set.contains(7));
+        assertFalse(set.contains(8));
+
+        assertTrue(set.remove(7));
+        assertFalse(set.remove(7));
+        assertFalse(set.contains(7));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void zeroIsAnOrdinaryValue() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void growsPastTheExpectedSize() {
+        LongHashSet set = new LongHashSet(2);
+        for (long value = 1; value <= 10_000; value++) {
+            set.add(value * 31);
+        }
+
+        assertEquals(10_000, set.size());
+        for (long value = 1; value <= 10_000; value++) {
+            assertTrue(set.contains(value * 31));
+            assertFalse(set.contains(value * 31 + 1));
+        }
+    }
+
+    // A set sized for 4 has 8 slots. Values whose home is the last slot probe on into slots
+    // 0 and 1, so removing the first one must shift the rest back across the wrap-around.
+    @Test
+    void removeShiftsProbeChainsBackAcrossTheEndOfTheTable() {
+        int capacity = 8;
+        List<Long> lastSlot = valuesWithHomeSlot(capacity - 1, capacity, 2);
+        long firstSlotValue = valuesWithHomeSlot(0, capacity, 1).get(0);
+        long a = lastSlot.get(0);
+        long b = lastSlot.get(1);
+
+        LongHashSet set = new LongHashSet(4);
+        set.add(a); // slot 7
+        set.add(b); // wraps to slot 0
+        set.add(firstSlotValue); // home slot 0 is taken, so slot 1
+
+        assertTrue(set.remove(a));
+
+        assertFalse(set.contains(a));
+        assertTrue(set.contains(b));
+        assertTrue(set.contains(firstSlotValue));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(b));
+        assertTrue(set.contains(firstSlotValue));
+        assertTrue(set.remove(firstSlotValue));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void removingInTheMiddleOfAWrappedChainKeepsLaterEntriesReachable() {
+        int capacity = 8;
+        List<Long> lastSlot = valuesWithHomeSlot(capacity - 1, capacity, 3);
+
+        LongHashSet set = new LongHashSet(4);
+        lastSlot.forEach(set::add); // slots 7, 0, 1
+
+        assertTrue(set.remove(lastSlot.get(1)));
+
+        assertTrue(set.contains(lastSlot.get(0)));
+        assertFalse(set.contains(lastSlot.get(1)));
+        assertTrue(set.contains(lastSlot.get(2)));
+    }
+
+    // Small value range and a tiny initial table, so collisions, wrap-around and rehashing all happen
+    @Test
+    void behavesLikeHashSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet(2);
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long value = random.nextInt(101) - 50;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value), "add " + value);
+            } else {
+                assertEquals(expected.remove(value), set.remove(value), "remove " + value);
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (long value = -50; value <= 50; value++) {
+            assertEquals(expected.contains(value), set.contains(value), "contains " + value);
+        }
+    }
+
+    // Mirrors LongHashSet's slot function so tests can place values deliberately
+    private static int homeSlot(long value, int capacity) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+
+    private static List<Long> valuesWithHomeSlot(int slot, int capacity, int count) {
+        List<Long> values = new ArrayList<>(count);
+        for (long value = 1; values.size() < count; value++) {
+            if (homeSlot(value, capacity) == slot) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,66 @@
+package com.aspira.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    @Test
+    void allowsABurstUpToCapacityThenReportsTheWait() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, 100);
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertTrue(wait > 0, "fourth request should be limited");
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(1), "60 per minute refills one token per second: " + wait);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100);
+
+        assertEquals(0, limiter.tryAcquire("alice@example.com"));
+        assertTrue(limiter.tryAcquire("alice@example.com") > 0);
+        assertEquals(0, limiter.tryAcquire("bob@example.com"));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void fullMapLetsNewKeysThroughAndKeepsLimitingTrackedOnes() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 2);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+
+        // A flood of unseen keys is neither tracked nor throttled
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(0, limiter.tryAcquire("172.16." + (i / 256) + "." + (i % 256)));
+        }
+        assertEquals(2, limiter.size());
+
+        // Keys that already have a bucket are still limited
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        assertTrue(limiter.tryAcquire("10.0.0.2") > 0);
+    }
+
+    @Test
+    void evictFullDropsRefilledBucketsOnly() throws InterruptedException {
+        TokenBucketLimiter fast = new TokenBucketLimiter(1, 600_000, 100); // 10 tokens per millisecond
+        TokenBucketLimiter slow = new TokenBucketLimiter(1, 1, 100);
+        fast.tryAcquire("key");
+        slow.tryAcquire("key");
+
+        Thread.sleep(20);
+
+        assertEquals(1, fast.evictFull());
+        assertEquals(0, fast.size());
+        assertEquals(0, slow.evictFull());
+        assertEquals(1, slow.size());
+    }
+}
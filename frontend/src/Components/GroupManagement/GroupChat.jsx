@@ -1,6 +1,7 @@
 import React, { useState, useEffect, useRef } from 'react';
 import { useParams } from 'react-router-dom';
 import axios from '../../config/axios';
+import { connectStomp } from '../../config/stomp';
 import { PaperAirplaneIcon, UserCircleIcon, ArrowDownCircleIcon, UsersIcon, ArrowLeftOnRectangleIcon } from '@heroicons/react/24/solid';
 
 const GroupChat = () => {
@@ -12,6 +13,7 @@ const GroupChat = () => {
   const messagesEndRef = useRef(null);
   const messagesContainerRef = useRef(null);
   const [atBottom, setAtBottom] = useState(true);
+  const [hasOlder, setHasOlder] = useState(false);
 
   // Dummy current user for demo; replace with real user info
   const currentUser = { name: 'You', id: 1 };
@@ -32,8 +34,10 @@ const GroupChat = () => {
   useEffect(() => {
     const fetchMessages = async () => {
       try {
-        const response = await axios.get(`/api/groups/${groupId}/messages`);
-        setMessages(response.data);
+        // Latest page only; earlier messages are loaded on demand
+        const response = await axios.get(`/api/groups/${groupId}/messages`, { params: { limit: 50 } });
+        setMessages(response.data.messages);
+        setHasOlder(response.data.hasMore);
       } catch (error) {
         console.error('Error fetching messages:', error);
       }
@@ -50,6 +54,42 @@ const GroupChat = () => {
     fetchMembers();
   }, [groupId]);
 
+  const loadOlderMessages = async () => {
+    if (messages.length === 0) return;
+    try {
+      const response = await axios.get(`/api/groups/${groupId}/messages`, {
+        params: { limit: 50, before: messages[0].id },
+      });
+      setMessages((prev) => [...response.data.messages, ...prev]);
+      setHasOlder(response.data.hasMore);
+    } catch (error) {
+      console.error('Error fetching earlier messages:', error);
+    }
+  };
+
+  // Live chat: apply created/updated/deleted deltas pushed by the server
+  useEffect(() => {
+    let unsubscribe = null;
+    const client = connectStomp({
+      onConnect: () => {
+        unsubscribe = client.subscribe(`/topic/groups/${groupId}`, (event) => {
+          if (event.type === 'DELETED') {
+            setMessages((prev) => prev.filter((m) => m.id !== event.messageId));
+          } else if (event.type === 'UPDATED') {
+            setMessages((prev) => prev.map((m) => (m.id === event.messageId ? { ...m, ...event.message } : m)));
+          } else {
+            setMessages((prev) => (prev.some((m) => m.id === event.messageId) ? prev : [...prev, event.message]));
+          }
+        });
+      },
+      onError: (message) => console.error('Chat connection error:', message),
+    });
+    return () => {
+      unsubscribe?.();
+      client.disconnect();
+    };
+  }, [groupId]);
+
   // Scroll to bottom logic
   const scrollToBottom = () => {
     messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
@@ -80,7 +120,8 @@ const GroupChat = () => {
       const response = await axios.post(`/api/groups/${groupId}/messages`, {
         content: newMessage,
       });
-      setMessages((prev) => [...prev, response.data]);
+      // The broadcast may arrive before the response; skip it if it is already shown
+      setMessages((prev) => (prev.some((m) => m.id === response.data.id) ? prev : [...prev, response.data]));
       setNewMessage('');
       scrollToBottom();
     } catch (error) {
@@ -160,6 +201,16 @@ const GroupChat = () => {
         </div>
         {/* Messages */}
         <div className="flex-1 overflow-y-auto px-4 py-6 space-y-4 bg-white relative" ref={messagesContainerRef}>
+          {hasOlder && (
+            <div className="text-center">
+              <button
+                onClick={loadOlderMessages}
+                className="text-xs text-indigo-600 hover:text-indigo-800 font-semibold"
+              >
+                Load earlier messages
+              </button>
+            </div>
+          )}
           {messages.length === 0 && (
             <div className="text-center text-gray-400 mt-10">No messages yet. Start the conversation!</div>
           )}
@@ -84,6 +84,9 @@ function Notifications() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [filter, setFilter] = useState('all'); // 'all' or 'unread'
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [unreadCount, setUnreadCount] = useState(0);
   const navigate = useNavigate();
 
   const fetchNotifications = useCallback(async () => {
@@ -97,12 +100,18 @@ function Notifications() {
         // navigate('/login'); // Optionally redirect
         return;
       }
+      // First page only; older notifications are loaded on demand
       const response = await axios.get('http://localhost:8080/api/notifications', {
         headers: { Authorization: `Bearer ${token}` },
+        params: { limit: 20 },
       });
-      // Sort by date, newest first
-      const sortedNotifications = response.data.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
-      setNotifications(sortedNotifications);
+      setNotifications(response.data.notifications);
+      setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
+      // The list is paged, so the badge comes from the server-side counter
+      const countResponse = await axios.get('http://localhost:8080/api/notifications/unread-count', {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      setUnreadCount(countResponse.data.unreadCount);
     } catch (err) {
       setError('Failed to fetch notifications. Please try again later.');
       console.error("Fetch notifications error:", err);
@@ -115,6 +124,95 @@ function Notifications() {
     fetchNotifications();
   }, [fetchNotifications]);
 
+  const loadMoreNotifications = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const token = localStorage.getItem('token');
+      const response = await axios.get('http://localhost:8080/api/notifications', {
+        headers: { Authorization: `Bearer ${token}` },
+        params: { limit: 20, cursor: nextCursor },
+      });
+      setNotifications((prev) => {
+        const seen = new Set(prev.map((n) => n.notificationId));
+        return [...prev, ...response.data.notifications.filter((n) => !seen.has(n.notificationId))];
+      });
+      setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
+    } catch (err) {
+      console.error("Load more notifications error:", err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // Live updates over Server-Sent Events. fetch is used instead of EventSource so the
+  // Authorization header can be sent; on reconnect Last-Event-ID replays missed events.
+  useEffect(() => {
+    const token = localStorage.getItem('token');
+    if (!token) return undefined;
+
+    const controller = new AbortController();
+    let lastEventId = null;
+    let retryTimer = null;
+
+    const handleEvent = (frame) => {
+      let event = 'message';
+      let data = '';
+      frame.split('\n').forEach((line) => {
+        if (line.startsWith('id:')) lastEventId = line.slice(3).trim();
+        else if (line.startsWith('event:')) event = line.slice(6).trim();
+        else if (line.startsWith('data:')) data += line.slice(5).trim();
+      });
+      if (event !== 'notification' || !data) return;
+      const notification = JSON.parse(data);
+      // A coalesced notification arrives again with the same id and an updated message; move it to the top
+      setNotifications((prev) => [
+        notification,
+        ...prev.filter((n) => n.notificationId !== notification.notificationId),
+      ]);
+      // The counter endpoint is served from memory, so re-reading it is cheap
+      axios.get('http://localhost:8080/api/notifications/unread-count', {
+        headers: { Authorization: `Bearer ${token}` },
+      }).then((res) => setUnreadCount(res.data.unreadCount)).catch(() => {});
+    };
+
+    const connect = async () => {
+      try {
+        const headers = { Authorization: `Bearer ${token}` };
+        if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+        const response = await fetch('http://localhost:8080/api/notifications/stream', {
+          headers,
+          signal: controller.signal,
+        });
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += decoder.decode(value, { stream: true }).replace(/\r/g, '');
+          let boundary;
+          while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+            handleEvent(buffer.slice(0, boundary));
+            buffer = buffer.slice(boundary + 2);
+          }
+        }
+      } catch (err) {
+        if (controller.signal.aborted) return;
+        console.error("Notification stream error:", err);
+      }
+      if (!controller.signal.aborted) {
+        retryTimer = setTimeout(connect, 3000);
+      }
+    };
+
+    connect();
+    return () => {
+      controller.abort();
+      clearTimeout(retryTimer);
+    };
+  }, []);
+
   const handleMarkAsRead = async (notificationId) => {
     try {
       const token = localStorage.getItem('token');
@@ -124,18 +222,36 @@ function Notifications() {
       setNotifications((prev) =>
         prev.map((n) => (n.notificationId === notificationId ? { ...n, isRead: true } : n))
       );
+      setUnreadCount((count) => Math.max(0, count - 1));
     } catch (err) {
       console.error("Mark as read error:", err);
       // Optionally show a specific error to the user
     }
   };
 
+  const handleMarkAllAsRead = async () => {
+    try {
+      const token = localStorage.getItem('token');
+      await axios.put('http://localhost:8080/api/notifications/read-all', {}, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      setNotifications((prev) => prev.map((n) => ({ ...n, isRead: true })));
+      setUnreadCount(0);
+    } catch (err) {
+      console.error("Mark all as read error:", err);
+    }
+  };
+
   const handleDeleteNotification = async (notificationId) => {
     try {
       const token = localStorage.getItem('token');
       await axios.delete(`http://localhost:8080/api/notifications/${notificationId}`, {
         headers: { Authorization: `Bearer ${token}` },
       });
+      const removed = notifications.find((n) => n.notificationId === notificationId);
+      if (removed && !removed.isRead) {
+        setUnreadCount((count) => Math.max(0, count - 1));
+      }
       setNotifications((prev) => prev.filter((n) => n.notificationId !== notificationId));
     } catch (err) {
       console.error("Delete notification error:", err);
@@ -152,7 +268,6 @@ function Notifications() {
     return true;
   });
   
-  const unreadCount = notifications.filter(n => !n.isRead).length;
 
   return (
     <div className="min-h-screen py-8 px-4 sm:px-6 lg:px-8" style={backgroundStyle}>
@@ -188,7 +303,14 @@ function Notifications() {
                     )}
                   </button>
                 </div>
-                {/* Add more actions like "Mark all as read" if needed */}
+                {unreadCount > 0 && (
+                  <button
+                    onClick={handleMarkAllAsRead}
+                    className="px-4 py-2 rounded-md text-sm font-medium text-blue-600 hover:bg-blue-50 transition-colors"
+                  >
+                    Mark all as read
+                  </button>
+                )}
               </div>
 
               {loading && <p className="text-center text-gray-600 py-10">Loading notifications...</p>}
@@ -218,6 +340,15 @@ function Notifications() {
                   )}
                 </AnimatePresence>
               )}
+              {!loading && !error && nextCursor && (
+                <button
+                  onClick={loadMoreNotifications}
+                  disabled={loadingMore}
+                  className="w-full mt-2 py-2 text-sm font-medium text-blue-600 hover:bg-blue-50 rounded-md transition-colors"
+                >
+                  {loadingMore ? 'Loading...' : 'Load older notifications'}
+                </button>
+              )}
             </div>
           </main>
 
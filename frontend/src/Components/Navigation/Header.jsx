@@ -2,6 +2,7 @@ import React, { useState } from "react";
 import { motion } from "framer-motion";
 import { Bell, GraduationCap, UserCircle } from "lucide-react";
 import { useLocation, useNavigate } from "react-router-dom";
+import axios from "axios";
 
 const navLinks = [
   { name: "Home", path: "/home" },
@@ -20,7 +21,19 @@ function Header() {
 
   const isActive = (path) => location.pathname === path;
 
-  const handleLogout = () => {
+  // Revoke the token on the server first so it stops working even if a copy leaked;
+  // the local session is cleared whether or not that call succeeds
+  const handleLogout = async () => {
+    const token = localStorage.getItem('token');
+    if (token) {
+      try {
+        await axios.post('http://localhost:8080/api/auth/logout', null, {
+          headers: { Authorization: `Bearer ${token}` },
+        });
+      } catch (err) {
+        console.error("Logout error:", err);
+      }
+    }
     localStorage.removeItem('token');
     localStorage.removeItem('user');
     navigate('/');
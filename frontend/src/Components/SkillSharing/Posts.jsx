@@ -289,17 +289,16 @@ const Posts = () => {
   const fetchReactions = async (postId) => {
     try {
       const token = localStorage.getItem('token');
-      const response = await axios.get(`http://localhost:8080/api/reactions/post/${postId}`, {
+      // Aggregated counts + the current user's reaction, instead of every reaction row
+      const response = await axios.get(`http://localhost:8080/api/reactions/post/${postId}/summary`, {
         headers: { Authorization: `Bearer ${token}` }
       });
-      const allReactions = response.data || [];
-      setReactions(prev => ({ ...prev, [postId]: allReactions }));
+      const summary = response.data || {};
+      setReactions(prev => ({ ...prev, [postId]: summary.total || 0 }));
       // Track current user's reaction
-      const userId = JSON.parse(localStorage.getItem('user'))?.userId;
-      const userReactionObj = allReactions.find(r => r.userId === userId);
-      setUserReactions(prev => ({ ...prev, [postId]: userReactionObj || null }));
+      setUserReactions(prev => ({ ...prev, [postId]: summary.myReaction || null }));
     } catch (error) {
-      setReactions(prev => ({ ...prev, [postId]: [] }));
+      setReactions(prev => ({ ...prev, [postId]: 0 }));
       setUserReactions(prev => ({ ...prev, [postId]: null }));
     }
   };
@@ -351,7 +350,7 @@ const Posts = () => {
 
     // Store original state for potential rollback
     const originalUserReactionForPost = userReactions[postId] ? { ...userReactions[postId] } : null;
-    const originalReactionsForPost = reactions[postId] ? reactions[postId].map(r => ({...r})) : []; // Deep copy for rollback
+    const originalReactionsForPost = reactions[postId] || 0; // Reaction count for rollback
 
     let optimisticUserReaction = null;
     let optimisticSuccessMessage = '';
@@ -361,35 +360,20 @@ const Posts = () => {
       if (userReactions[postId].reactionType === newReactionType) { // Clicking the same reaction to remove it
         optimisticUserReaction = null;
         setUserReactions(prev => ({ ...prev, [postId]: null }));
-        setReactions(prev => {
-            const postReactions = prev[postId] || [];
-            return { ...prev, [postId]: postReactions.filter(r => r.userId !== currentUserId) };
-        });
+        setReactions(prev => ({ ...prev, [postId]: Math.max((prev[postId] || 0) - 1, 0) }));
         optimisticSuccessMessage = 'Reaction removed.';
       } else { // Clicking a different reaction to update
         // Use the existing reactionId if available for the optimistic object
         const existingReactionId = userReactions[postId].reactionId;
         optimisticUserReaction = { userId: currentUserId, postId, reactionType: newReactionType, reactionId: existingReactionId || Date.now() }; // Use existing ID or temp
         setUserReactions(prev => ({ ...prev, [postId]: optimisticUserReaction }));
-        setReactions(prev => {
-            const postReactions = prev[postId] || [];
-            const reactionExistsInArray = postReactions.some(r => r.userId === currentUserId);
-            if (reactionExistsInArray) {
-                return { ...prev, [postId]: postReactions.map(r => r.userId === currentUserId ? optimisticUserReaction : r) };
-            } else {
-                 // If for some reason it wasn't in the main array but was in userReactions, add it
-                return { ...prev, [postId]: [...postReactions, optimisticUserReaction] };
-            }
-        });
+        // Changing the reaction type leaves the total unchanged
         optimisticSuccessMessage = 'Reaction updated.';
       }
     } else { // No existing reaction, adding a new one
       optimisticUserReaction = { userId: currentUserId, postId, reactionType: newReactionType, reactionId: Date.now() }; // temp ID for optimistic update
       setUserReactions(prev => ({ ...prev, [postId]: optimisticUserReaction }));
-      setReactions(prev => {
-          const postReactions = prev[postId] || [];
-          return { ...prev, [postId]: [...postReactions, optimisticUserReaction] };
-      });
+      setReactions(prev => ({ ...prev, [postId]: (prev[postId] || 0) + 1 }));
       optimisticSuccessMessage = 'Reaction added.';
     }
     setSuccess(optimisticSuccessMessage); // Show success message immediately
@@ -425,14 +409,6 @@ const Posts = () => {
           ...prev,
           [postId]: actualCreatedReaction
         }));
-        // Replace the optimistic reaction (with temp ID) with the actual one from the server
-        setReactions(prev => {
-          const currentPostReactions = prev[postId] || [];
-          const updatedPostReactions = currentPostReactions.filter(
-            r => r.reactionId !== optimisticUserReaction.reactionId // optimisticUserReaction has the temp Date.now() ID
-          );
-          return { ...prev, [postId]: [...updatedPostReactions, actualCreatedReaction] };
-        });
       }
       // Successfully updated backend, now fetch the true state to ensure consistency and get actual reactionId
       fetchReactions(postId);
@@ -644,8 +620,8 @@ const Posts = () => {
                             >
                               <ThumbsUp className="w-4 h-4 text-gray-500 group-hover:text-blue-500" /> <span className="group-hover:text-blue-500">Like</span>
                               {/* Like/Reaction count */}
-                              {Array.isArray(reactions[post.postId]) && reactions[post.postId].length > 0 && (
-                                <span className="ml-1 text-xs text-blue-500 font-semibold">{reactions[post.postId].length}</span>
+                              {reactions[post.postId] > 0 && (
+                                <span className="ml-1 text-xs text-blue-500 font-semibold">{reactions[post.postId]}</span>
                               )}
                             </button>
                             <AnimatePresence>
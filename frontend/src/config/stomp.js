@@ -0,0 +1,77 @@
+// Minimal STOMP 1.2 client over a native WebSocket, enough for group chat.
+// The JWT goes in the CONNECT frame because browsers cannot set headers on the handshake.
+const WS_URL = 'ws://localhost:8080/ws';
+
+const buildFrame = (command, headers = {}, body = '') => {
+  const lines = [command];
+  Object.entries(headers).forEach(([key, value]) => lines.push(`${key}:${value}`));
+  return `${lines.join('\n')}\n\n${body}\0`;
+};
+
+const parseFrame = (raw) => {
+  const text = raw.replace(/^\n+/, '');
+  const headerEnd = text.indexOf('\n\n');
+  const head = headerEnd >= 0 ? text.slice(0, headerEnd) : text;
+  const body = headerEnd >= 0 ? text.slice(headerEnd + 2) : '';
+  const [command, ...headerLines] = head.split('\n');
+  const headers = {};
+  headerLines.forEach((line) => {
+    const separator = line.indexOf(':');
+    if (separator > 0) headers[line.slice(0, separator)] = line.slice(separator + 1);
+  });
+  return { command, headers, body };
+};
+
+export const connectStomp = ({ onConnect, onError } = {}) => {
+  const socket = new WebSocket(WS_URL);
+  const subscriptions = {};
+  let nextId = 0;
+  let buffer = '';
+
+  socket.onopen = () => {
+    const token = localStorage.getItem('token');
+    socket.send(buildFrame('CONNECT', {
+      'accept-version': '1.2',
+      host: 'localhost',
+      'heart-beat': '0,0',
+      Authorization: `Bearer ${token}`,
+    }));
+  };
+
+  socket.onmessage = (event) => {
+    buffer += event.data;
+    let end;
+    while ((end = buffer.indexOf('\0')) >= 0) {
+      const frame = parseFrame(buffer.slice(0, end));
+      buffer = buffer.slice(end + 1);
+      if (frame.command === 'CONNECTED') {
+        onConnect?.();
+      } else if (frame.command === 'MESSAGE') {
+        subscriptions[frame.headers.subscription]?.(JSON.parse(frame.body));
+      } else if (frame.command === 'ERROR') {
+        onError?.(frame.headers.message || frame.body);
+      }
+    }
+  };
+
+  socket.onerror = () => onError?.('WebSocket error');
+
+  return {
+    subscribe(destination, callback) {
+      const id = `sub-${nextId++}`;
+      subscriptions[id] = callback;
+      socket.send(buildFrame('SUBSCRIBE', { id, destination }));
+      return () => {
+        delete subscriptions[id];
+        if (socket.readyState === WebSocket.OPEN) socket.send(buildFrame('UNSUBSCRIBE', { id }));
+      };
+    },
+    send(destination, payload) {
+      socket.send(buildFrame('SEND', { destination, 'content-type': 'application/json' }, JSON.stringify(payload)));
+    },
+    disconnect() {
+      if (socket.readyState === WebSocket.OPEN) socket.send(buildFrame('DISCONNECT'));
+      socket.close();
+    },
+  };
+};